@@ -0,0 +1,41 @@
+#!/bin/sh
+# Runs load-tests/user-reads.js against the application twice, once on Tomcat's platform thread
+# pool and once with the virtual-threads profile, and prints throughput and p99 per endpoint.
+#
+# Requires JDK 21, k6, jq and the Postgres from docker-compose.yml listening on localhost:5432.
+# Extra k6 settings are passed through the environment, e.g. VUS=5000 DURATION=5m. The rate
+# limiter is turned off: all virtual users share one address and would otherwise be measured
+# against its budget rather than against the request threads.
+set -eu
+
+cd "$(dirname "$0")/.."
+./gradlew -q -PjavaVersion=21 bootJar
+JAR=$(ls build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)
+mkdir -p build/load-tests
+
+for mode in platform virtual; do
+    profile=""
+    if [ "$mode" = virtual ]; then
+        profile="--spring.profiles.active=virtual-threads"
+    fi
+    java -jar "$JAR" --rate-limit.enabled=false $profile > "build/load-tests/$mode.log" 2>&1 &
+    pid=$!
+    until curl -sf http://localhost:8085/actuator/health > /dev/null; do
+        sleep 1
+    done
+    k6 run --quiet --summary-export "build/load-tests/$mode.json" load-tests/user-reads.js
+    kill "$pid"
+    wait "$pid" || true
+done
+
+printf '%-10s %-20s %12s %12s\n' mode endpoint 'req/s' 'p99 (ms)'
+for mode in platform virtual; do
+    for endpoint in user user-subscriptions; do
+        jq -r --arg mode "$mode" --arg endpoint "$endpoint" '
+            [$mode, $endpoint,
+             (.metrics["http_reqs{endpoint:" + $endpoint + "}"].count / (.metrics.iterations.count / .metrics.iterations.rate)),
+             .metrics["http_req_duration{endpoint:" + $endpoint + "}"]["p(99)"]]
+            | "\(.[0]) \(.[1]) \(.[2] | floor) \(.[3] * 100 | floor / 100)"' "build/load-tests/$mode.json" |
+        awk '{ printf "%-10s %-20s %12s %12s\n", $1, $2, $3, $4 }'
+    done
+done
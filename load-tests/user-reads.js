@@ -0,0 +1,84 @@
+// k6 load test for the two hot read endpoints, GET /users/{id} and GET /api/subscriptions/user/{userId}.
+//
+//   k6 run -e VUS=5000 -e DURATION=2m load-tests/user-reads.js
+//
+// Each virtual user loops over random seeded users without think time. The summary reports
+// request rate and p50/p95/p99 latency per endpoint; compare-virtual-threads.sh runs it against
+// platform and virtual request threads and prints both side by side. When running it by hand,
+// start the application with --rate-limit.enabled=false: all virtual users come from one address.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8085';
+const USERS = parseInt(__ENV.USERS || '1000');
+const SUBSCRIPTIONS_PER_USER = parseInt(__ENV.SUBSCRIPTIONS_PER_USER || '10');
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-vus',
+            vus: parseInt(__ENV.VUS || '5000'),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    setupTimeout: '10m',
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    // Always-passing thresholds make k6 report the per-endpoint sub-metrics in the summary.
+    thresholds: {
+        'http_req_duration{endpoint:user}': ['p(99)>=0'],
+        'http_req_duration{endpoint:user-subscriptions}': ['p(99)>=0'],
+        'http_reqs{endpoint:user}': ['count>=0'],
+        'http_reqs{endpoint:user-subscriptions}': ['count>=0'],
+    },
+};
+
+export function setup() {
+    const run = String(Date.now() % 1000000).padStart(6, '0');
+    const userIds = [];
+    for (let i = 0; i < USERS; i++) {
+        const response = http.post(`${BASE_URL}/users`, JSON.stringify({
+            firstName: 'Load',
+            lastName: 'Test',
+            email: `load-${run}-${i}@example.com`,
+            phone: `+7${run}${String(i).padStart(4, '0')}`,
+        }), JSON_HEADERS);
+        check(response, { 'user created': (r) => r.status === 200 });
+        userIds.push(response.json());
+    }
+
+    const now = new Date();
+    const end = new Date(now.getTime() + 30 * 24 * 3600 * 1000);
+    let batch = [];
+    for (const userId of userIds) {
+        for (let i = 0; i < SUBSCRIPTIONS_PER_USER; i++) {
+            batch.push({
+                serviceName: `Service ${i}`,
+                plan: 'monthly',
+                price: 9.99,
+                startDate: now.toISOString(),
+                endDate: end.toISOString(),
+                userId: userId,
+            });
+        }
+        if (batch.length >= 5000 - SUBSCRIPTIONS_PER_USER) {
+            http.post(`${BASE_URL}/api/subscriptions/bulk`, JSON.stringify(batch), JSON_HEADERS);
+            batch = [];
+        }
+    }
+    if (batch.length > 0) {
+        http.post(`${BASE_URL}/api/subscriptions/bulk`, JSON.stringify(batch), JSON_HEADERS);
+    }
+    return { userIds };
+}
+
+export default function (data) {
+    const userId = data.userIds[Math.floor(Math.random() * data.userIds.length)];
+
+    const user = http.get(`${BASE_URL}/users/${userId}`, { tags: { endpoint: 'user' } });
+    check(user, { 'GET /users/{id} is 200': (r) => r.status === 200 });
+
+    const subscriptions = http.get(`${BASE_URL}/api/subscriptions/user/${userId}`,
+        { tags: { endpoint: 'user-subscriptions' } });
+    check(subscriptions, { 'GET /api/subscriptions/user/{userId} is 200': (r) => r.status === 200 });
+}
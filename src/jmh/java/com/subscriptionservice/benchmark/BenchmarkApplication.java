@@ -0,0 +1,103 @@
+package com.subscriptionservice.benchmark;
+
+import com.subscriptionservice.SubscriptionServiceApplication;
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.UserDto;
+import com.subscriptionservice.service.SubscriptionService;
+import com.subscriptionservice.service.UserService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application against a private in-memory H2 database, without a web server for the
+ * service and repository benchmarks or on a random port for the HTTP ones, and seeds it with
+ * subscriptions.
+ */
+final class BenchmarkApplication {
+    static final int SERVICE_COUNT = 50;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return start(databaseName, WebApplicationType.NONE);
+    }
+
+    /**
+     * Starts the application with an embedded server on a random port, read back through
+     * {@link #port}. The rate limiter is off so it doesn't throttle the benchmark's own load.
+     */
+    static ConfigurableApplicationContext startServer(String databaseName, String... args) {
+        List<String> serverArgs = new ArrayList<>(List.of("--server.port=0", "--rate-limit.enabled=false"));
+        serverArgs.addAll(List.of(args));
+        return start(databaseName, WebApplicationType.SERVLET, serverArgs.toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static ConfigurableApplicationContext start(String databaseName, WebApplicationType webApplicationType,
+                                                        String... args) {
+        List<String> allArgs = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + databaseName + "?options=DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--logging.level.root=WARN",
+                "--logging.level.com.subscriptionservice=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        allArgs.addAll(List.of(args));
+        return new SpringApplicationBuilder(SubscriptionServiceApplication.class)
+                .web(webApplicationType)
+                .run(allArgs.toArray(String[]::new));
+    }
+
+    static Long createUser(ConfigurableApplicationContext context, int seed) {
+        UserDto user = new UserDto();
+        user.setFirstName("bench");
+        user.setLastName("bench");
+        user.setEmail("bench" + seed + "@example.com");
+        user.setPhone(String.format("+7%010d", seed));
+        return context.getBean(UserService.class).createUser(user);
+    }
+
+    static void seedSubscriptions(ConfigurableApplicationContext context, Long userId, int count) {
+        SubscriptionService subscriptionService = context.getBean(SubscriptionService.class);
+        List<SubscriptionDto> batch = new ArrayList<>(SubscriptionService.MAX_BULK_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(subscription(userId, i));
+            if (batch.size() == SubscriptionService.MAX_BULK_SIZE) {
+                subscriptionService.createSubscriptions(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            subscriptionService.createSubscriptions(batch);
+        }
+    }
+
+    static SubscriptionDto subscription(Long userId, int seed) {
+        SubscriptionDto dto = new SubscriptionDto();
+        dto.setServiceName("Service " + (seed % SERVICE_COUNT));
+        dto.setPlan("monthly");
+        dto.setPrice(new BigDecimal("9.99"));
+        dto.setStartDate(OffsetDateTime.now());
+        dto.setEndDate(OffsetDateTime.now().plusMonths(1));
+        dto.setUserId(userId);
+        return dto;
+    }
+}
@@ -0,0 +1,74 @@
+package com.subscriptionservice.benchmark;
+
+import com.subscriptionservice.dto.BulkSubscriptionResultDto;
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.repository.SubscriptionRepository;
+import com.subscriptionservice.service.SubscriptionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request subscription creation against the bulk ingest path, in subscriptions per second.
+ * The table is emptied after every iteration so both paths insert into a table of the same size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkIngestBenchmark {
+    private static final int ITEMS = SubscriptionService.MAX_BULK_SIZE;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionService subscriptionService;
+    private SubscriptionRepository subscriptionRepository;
+    private List<SubscriptionDto> subscriptions;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("bulk-ingest");
+        subscriptionService = context.getBean(SubscriptionService.class);
+        subscriptionRepository = context.getBean(SubscriptionRepository.class);
+        Long userId = BenchmarkApplication.createUser(context, 1);
+        subscriptions = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            subscriptions.add(BenchmarkApplication.subscription(userId, i));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteSubscriptions() {
+        subscriptionRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void createOneAtATime(Blackhole blackhole) {
+        for (SubscriptionDto subscription : subscriptions) {
+            blackhole.consume(subscriptionService.createSubscription(subscription));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public List<BulkSubscriptionResultDto> createInBulk() {
+        return subscriptionService.createSubscriptions(subscriptions);
+    }
+}
@@ -0,0 +1,59 @@
+package com.subscriptionservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionservice.dto.SubscriptionDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private SubscriptionDto subscription;
+    private List<SubscriptionDto> page;
+    private byte[] pageJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        subscription = BenchmarkApplication.subscription(1L, 0);
+        subscription.setId(1L);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            SubscriptionDto dto = BenchmarkApplication.subscription(1L, i);
+            dto.setId((long) i);
+            page.add(dto);
+        }
+        pageJson = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeSubscription() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(subscription);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public SubscriptionDto[] deserializePage() throws IOException {
+        return objectMapper.readValue(pageJson, SubscriptionDto[].class);
+    }
+}
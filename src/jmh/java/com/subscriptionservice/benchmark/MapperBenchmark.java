@@ -0,0 +1,86 @@
+package com.subscriptionservice.benchmark;
+
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.UserDto;
+import com.subscriptionservice.dto.UserUpdateDto;
+import com.subscriptionservice.mapper.SubscriptionMapper;
+import com.subscriptionservice.mapper.SubscriptionMapperImpl;
+import com.subscriptionservice.mapper.UserMapper;
+import com.subscriptionservice.mapper.UserMapperImpl;
+import com.subscriptionservice.model.Subscription;
+import com.subscriptionservice.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+    private final SubscriptionMapper subscriptionMapper = new SubscriptionMapperImpl();
+    private final UserMapper userMapper = new UserMapperImpl();
+
+    private User user;
+    private UserDto userDto;
+    private UserUpdateDto userUpdateDto;
+    private Subscription subscription;
+    private SubscriptionDto subscriptionDto;
+
+    @Setup
+    public void setUp() {
+        userDto = new UserDto();
+        userDto.setFirstName("Ivan");
+        userDto.setMiddleName("Ivanovich");
+        userDto.setLastName("Ivanov");
+        userDto.setEmail("ivan@example.com");
+        userDto.setPhone("+79282589980");
+
+        user = userMapper.toEntity(userDto);
+        user.setId(1L);
+
+        userUpdateDto = new UserUpdateDto();
+        userUpdateDto.setEmail("ivan.ivanov@example.com");
+
+        subscriptionDto = BenchmarkApplication.subscription(1L, 0);
+        subscription = subscriptionMapper.toEntity(subscriptionDto, user);
+        subscription.setId(1L);
+    }
+
+    @Benchmark
+    public Subscription subscriptionToEntity() {
+        return subscriptionMapper.toEntity(subscriptionDto, user);
+    }
+
+    @Benchmark
+    public SubscriptionDto subscriptionToDto() {
+        return subscriptionMapper.toDto(subscription);
+    }
+
+    @Benchmark
+    public Subscription subscriptionUpdateEntity() {
+        subscriptionMapper.updateEntityFromDto(subscriptionDto, subscription, user);
+        return subscription;
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return userMapper.toEntity(userDto);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public User userUpdateEntity() {
+        userMapper.updateEntityFromDto(userUpdateDto, user);
+        return user;
+    }
+}
@@ -0,0 +1,79 @@
+package com.subscriptionservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.subscriptionservice.config.BinaryFormatsConfig;
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.model.SubscriptionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the JSON, Smile and CBOR representations of a 10k-row subscription list: time to
+ * serialize with and without gzip, and the resulting payload sizes, which are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PayloadFormatBenchmark {
+    private static final int ROWS = 10_000;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<SubscriptionDto> subscriptions;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> binary(new SmileFactory());
+            case "cbor" -> binary(new CBORFactory());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        subscriptions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            SubscriptionDto dto = BenchmarkApplication.subscription((long) (i % 500), i);
+            dto.setId((long) i);
+            dto.setStatus(SubscriptionStatus.ACTIVE);
+            dto.setVersion(0L);
+            subscriptions.add(dto);
+        }
+        System.out.printf("%n%s: %,d bytes, %,d bytes gzipped%n", format, serialize().length, serializeGzipped().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(subscriptions);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, subscriptions);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ObjectMapper binary(JsonFactory factory) {
+        return BinaryFormatsConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), factory);
+    }
+}
@@ -0,0 +1,68 @@
+package com.subscriptionservice.benchmark;
+
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.mapper.SubscriptionMapper;
+import com.subscriptionservice.repository.SubscriptionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing subscriptions through entities plus MapStruct against the DTO constructor-expression
+ * projection, per row. Run with {@code -PjmhProfilers=gc} to get the bytes allocated per row
+ * ({@code gc.alloc.rate.norm}) next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProjectionAllocationBenchmark {
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionRepository subscriptionRepository;
+    private SubscriptionMapper subscriptionMapper;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("projection");
+        subscriptionRepository = context.getBean(SubscriptionRepository.class);
+        subscriptionMapper = context.getBean(SubscriptionMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        Long userId = BenchmarkApplication.createUser(context, 1);
+        BenchmarkApplication.seedSubscriptions(context, userId, ROWS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<SubscriptionDto> entityAndMapper() {
+        return readOnlyTransaction.execute(status ->
+                subscriptionRepository.findAll().stream().map(subscriptionMapper::toDto).toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<SubscriptionDto> dtoProjection() {
+        return readOnlyTransaction.execute(status ->
+                subscriptionRepository.findDtosByIdGreaterThan(0L, Limit.of(ROWS)));
+    }
+}
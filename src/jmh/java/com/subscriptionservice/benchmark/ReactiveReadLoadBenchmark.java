@@ -0,0 +1,71 @@
+package com.subscriptionservice.benchmark;
+
+import com.subscriptionservice.repository.SubscriptionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the blocking and the reactive read endpoints with the same concurrent load over HTTP.
+ * The Tomcat pool is kept small so the blocking path runs out of request threads well before the
+ * reactive one does; sample-time mode reports the p50/p99 latencies next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(128)
+public class ReactiveReadLoadBenchmark {
+    private static final int SUBSCRIPTIONS = 1_000;
+
+    @Param({"/api/subscriptions/", "/reactive/api/subscriptions/"})
+    private String path;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private List<URI> uris;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.startServer("reactive-load", "--server.tomcat.threads.max=16");
+        Long userId = BenchmarkApplication.createUser(context, 1);
+        BenchmarkApplication.seedSubscriptions(context, userId, SUBSCRIPTIONS);
+        String base = "http://localhost:" + BenchmarkApplication.port(context) + path;
+        uris = context.getBean(SubscriptionRepository.class).findAll().stream()
+                .map(subscription -> URI.create(base + subscription.getId()))
+                .toList();
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int read() throws IOException, InterruptedException {
+        URI uri = uris.get(ThreadLocalRandom.current().nextInt(uris.size()));
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + uri + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
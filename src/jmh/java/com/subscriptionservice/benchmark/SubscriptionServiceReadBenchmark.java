@@ -0,0 +1,81 @@
+package com.subscriptionservice.benchmark;
+
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.service.SubscriptionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of {@link SubscriptionService} against an embedded H2 database holding
+ * {@value #USER_SUBSCRIPTIONS} subscriptions for the benchmarked user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SubscriptionServiceReadBenchmark {
+    private static final int USER_SUBSCRIPTIONS = 100;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionService subscriptionService;
+    private Long userId;
+    private Long subscriptionId;
+    private List<Long> subscriptionIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("service-read");
+        subscriptionService = context.getBean(SubscriptionService.class);
+        userId = BenchmarkApplication.createUser(context, 1);
+        BenchmarkApplication.seedSubscriptions(context, userId, USER_SUBSCRIPTIONS);
+        subscriptionId = subscriptionService.getSubscriptionsPage(0, 1).get(0).getId();
+        subscriptionIds = subscriptionService.getSubscriptionsByUserId(userId).stream()
+                .map(SubscriptionDto::getId)
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SubscriptionDto getSubscriptionById() {
+        return subscriptionService.getSubscriptionById(subscriptionId);
+    }
+
+    @Benchmark
+    public List<SubscriptionDto> getSubscriptionsByIdOneAtATime() {
+        List<SubscriptionDto> subscriptions = new ArrayList<>(subscriptionIds.size());
+        for (Long id : subscriptionIds) {
+            subscriptions.add(subscriptionService.getSubscriptionById(id));
+        }
+        return subscriptions;
+    }
+
+    @Benchmark
+    public Map<Long, SubscriptionDto> getSubscriptionsByIds() {
+        return subscriptionService.getSubscriptionsByIds(subscriptionIds);
+    }
+
+    @Benchmark
+    public List<SubscriptionDto> getSubscriptionsByUserId() {
+        return subscriptionService.getSubscriptionsByUserId(userId);
+    }
+
+    @Benchmark
+    public List<SubscriptionDto> getSubscriptionsPage() {
+        return subscriptionService.getSubscriptionsPage(0, SubscriptionService.DEFAULT_PAGE_SIZE);
+    }
+}
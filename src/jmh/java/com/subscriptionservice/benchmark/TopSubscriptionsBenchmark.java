@@ -0,0 +1,59 @@
+package com.subscriptionservice.benchmark;
+
+import com.subscriptionservice.dto.TopSubscriptionDto;
+import com.subscriptionservice.repository.SubscriptionRepository;
+import com.subscriptionservice.service.SubscriptionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GROUP BY aggregation behind {@code findTopSubscriptions} against the in-memory leaderboard
+ * that serves {@code /api/subscriptions/top}, at growing table sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TopSubscriptionsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int subscriptions;
+
+    private ConfigurableApplicationContext context;
+    private SubscriptionRepository subscriptionRepository;
+    private SubscriptionService subscriptionService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("top-" + subscriptions);
+        subscriptionRepository = context.getBean(SubscriptionRepository.class);
+        subscriptionService = context.getBean(SubscriptionService.class);
+        Long userId = BenchmarkApplication.createUser(context, 1);
+        BenchmarkApplication.seedSubscriptions(context, userId, subscriptions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TopSubscriptionDto> findTopSubscriptions() {
+        return subscriptionRepository.findTopSubscriptions();
+    }
+
+    @Benchmark
+    public List<TopSubscriptionDto> getTopSubscriptions() {
+        return subscriptionService.getTopSubscriptions(SubscriptionService.DEFAULT_TOP_SIZE);
+    }
+}
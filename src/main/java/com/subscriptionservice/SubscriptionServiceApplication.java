@@ -2,8 +2,13 @@ package com.subscriptionservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC only serves the read-only reactive endpoints; a second transaction manager would make
+// @Transactional ambiguous and could displace the JPA one.
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
+@EnableScheduling
 public class SubscriptionServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,97 @@
+package com.subscriptionservice.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that publishes every eviction to a {@link CacheInvalidationBus} after applying it locally.
+ */
+public class BroadcastingCache implements Cache {
+    private final Cache target;
+    private final String origin;
+    private final CacheInvalidationBus bus;
+
+    public BroadcastingCache(Cache target, String origin, CacheInvalidationBus bus) {
+        this.target = target;
+        this.origin = origin;
+        this.bus = bus;
+    }
+
+    public Cache getTarget() {
+        return target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return target.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return target.get(key, valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return target.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return target.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return target.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+        bus.publish(new CacheInvalidation(origin, getName(), key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = target.evictIfPresent(key);
+        bus.publish(new CacheInvalidation(origin, getName(), key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+        bus.publish(new CacheInvalidation(origin, getName(), null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = target.invalidate();
+        bus.publish(new CacheInvalidation(origin, getName(), null));
+        return invalidated;
+    }
+}
@@ -0,0 +1,50 @@
+package com.subscriptionservice.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cache manager over a fixed set of local caches whose evictions are broadcast to, and received from,
+ * the other nodes through a {@link CacheInvalidationBus}. Local evictions made inside a transaction
+ * are applied and published only after commit.
+ */
+public class BroadcastingCacheManager extends AbstractTransactionSupportingCacheManager {
+    private final String origin = UUID.randomUUID().toString();
+    private final CacheInvalidationBus bus;
+    private final Map<String, Cache> targets;
+
+    public BroadcastingCacheManager(CacheInvalidationBus bus, Collection<? extends Cache> caches) {
+        this.bus = bus;
+        this.targets = caches.stream().collect(Collectors.toMap(Cache::getName, Function.identity()));
+        setTransactionAware(true);
+        bus.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return targets.values().stream()
+                .map(target -> new BroadcastingCache(target, origin, bus))
+                .toList();
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        Cache target = targets.get(invalidation.cacheName());
+        if (target == null) {
+            return;
+        }
+        if (invalidation.key() == null) {
+            target.clear();
+        } else {
+            target.evict(invalidation.key());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.subscriptionservice.cache;
+
+/**
+ * Message telling other nodes to drop an entry, or the whole cache when {@code key} is {@code null}.
+ *
+ * @param origin    id of the cache manager that performed the local eviction
+ * @param cacheName name of the affected cache
+ * @param key       evicted key, or {@code null} if the cache was cleared
+ */
+public record CacheInvalidation(String origin, String cacheName, Object key) {
+}
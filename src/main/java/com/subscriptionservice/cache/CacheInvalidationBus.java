@@ -0,0 +1,15 @@
+package com.subscriptionservice.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport used to propagate cache evictions between nodes. The default implementation is
+ * {@link LocalCacheInvalidationBus}; a broker-backed implementation can be plugged in by declaring
+ * another bean of this type.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
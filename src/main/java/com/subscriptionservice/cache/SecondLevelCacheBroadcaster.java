@@ -0,0 +1,217 @@
+package com.subscriptionservice.cache;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the node-local Hibernate second-level cache regions of every node consistent by publishing
+ * their invalidations to a {@link CacheInvalidationBus}, next to the Spring cache evictions.
+ * <p>
+ * Entities written through the session are announced by id once their transaction commits. Bulk
+ * statements make Hibernate evict the whole region after the transaction completes; the wrapped
+ * region storage announces that eviction. A receiving node drops the entry or region and, since
+ * the write may change any cached query result, its query result regions.
+ */
+public class SecondLevelCacheBroadcaster implements Integrator, PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    static final String CACHE_NAME_PREFIX = "hibernate:";
+
+    private final String origin = UUID.randomUUID().toString();
+    private final CacheInvalidationBus bus;
+    private final ThreadLocal<Boolean> applyingRemoteInvalidation = ThreadLocal.withInitial(() -> false);
+    private volatile SessionFactoryImplementor sessionFactory;
+    private volatile Map<String, List<String>> entityNamesByRegion;
+
+    public SecondLevelCacheBroadcaster(CacheInvalidationBus bus) {
+        this.bus = bus;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * The JCache region factory, with region-wide evictions broadcast.
+     */
+    public RegionFactory regionFactory() {
+        return new JCacheRegionFactory() {
+            @Override
+            protected DomainDataStorageAccess createDomainDataStorageAccess(
+                    DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+                return new BroadcastingStorageAccess(regionConfig.getRegionName(),
+                        super.createDomainDataStorageAccess(regionConfig, buildingContext));
+            }
+        };
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.sessionFactory = null;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            bus.publish(new CacheInvalidation(origin,
+                    CACHE_NAME_PREFIX + persister.getCacheAccessStrategy().getRegion().getName(), id));
+        }
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        SessionFactoryImplementor factory = sessionFactory;
+        if (factory == null || origin.equals(invalidation.origin())
+                || !invalidation.cacheName().startsWith(CACHE_NAME_PREFIX)) {
+            return;
+        }
+        String regionName = invalidation.cacheName().substring(CACHE_NAME_PREFIX.length());
+        if (invalidation.key() == null) {
+            applyingRemoteInvalidation.set(true);
+            try {
+                factory.getCache().evictRegion(regionName);
+            } finally {
+                applyingRemoteInvalidation.remove();
+            }
+        } else {
+            entityNamesByRegion(factory).getOrDefault(regionName, List.of())
+                    .forEach(entityName -> factory.getCache().evictEntityData(entityName, invalidation.key()));
+        }
+        factory.getCache().evictQueryRegions();
+    }
+
+    private Map<String, List<String>> entityNamesByRegion(SessionFactoryImplementor factory) {
+        if (entityNamesByRegion == null) {
+            Map<String, List<String>> names = new HashMap<>();
+            factory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+                if (persister.canWriteToCache()) {
+                    names.computeIfAbsent(persister.getCacheAccessStrategy().getRegion().getName(),
+                            region -> new ArrayList<>()).add(persister.getEntityName());
+                }
+            });
+            entityNamesByRegion = names;
+        }
+        return entityNamesByRegion;
+    }
+
+    /**
+     * Region storage that announces a complete eviction after applying it. Hibernate calls
+     * {@link #evictData()} when it releases the region after a bulk statement.
+     */
+    private class BroadcastingStorageAccess implements DomainDataStorageAccess {
+        private final String regionName;
+        private final DomainDataStorageAccess target;
+
+        BroadcastingStorageAccess(String regionName, DomainDataStorageAccess target) {
+            this.regionName = regionName;
+            this.target = target;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return target.getFromCache(key, session);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            target.putIntoCache(key, value, session);
+        }
+
+        @Override
+        public void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
+            target.putFromLoad(key, value, session);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            target.removeFromCache(key, session);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            target.clearCache(session);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return target.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            target.evictData();
+            if (!applyingRemoteInvalidation.get()) {
+                bus.publish(new CacheInvalidation(origin, CACHE_NAME_PREFIX + regionName, null));
+            }
+        }
+
+        @Override
+        public void evictData(Object key) {
+            target.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            target.release();
+        }
+    }
+}
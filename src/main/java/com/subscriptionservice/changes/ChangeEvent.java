@@ -0,0 +1,19 @@
+package com.subscriptionservice.changes;
+
+import com.subscriptionservice.model.ChangeEntityType;
+import com.subscriptionservice.model.ChangeType;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Message published for every outbox event.
+ *
+ * @param eventId    id of the outbox row; a redelivered event keeps its id, so consumers can drop duplicates
+ * @param entityType kind of the changed entity
+ * @param entityId   id of the changed entity
+ * @param changeType what happened to it
+ * @param occurredAt when the change was made
+ */
+public record ChangeEvent(long eventId, ChangeEntityType entityType, long entityId, ChangeType changeType,
+                          OffsetDateTime occurredAt) {
+}
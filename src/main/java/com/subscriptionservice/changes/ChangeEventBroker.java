@@ -0,0 +1,37 @@
+package com.subscriptionservice.changes;
+
+import com.subscriptionservice.dto.ChangeEventDto;
+import com.subscriptionservice.exception.ChangeFeedExpiredException;
+
+import java.util.List;
+
+/**
+ * Log the outbox relay publishes change events to and the change feed reads from. Every published
+ * event is assigned the next offset. The default implementation is {@link OutboxChangeEventBroker},
+ * which keeps the log in the outbox table; {@link LocalChangeEventBroker} is an in-process stand-in.
+ */
+public interface ChangeEventBroker {
+
+    /**
+     * Appends {@code events} in order. Called in the relay's transaction; the events stop being
+     * pending in the outbox once they are part of the log.
+     */
+    void publish(List<ChangeEvent> events);
+
+    /**
+     * Returns up to {@code limit} events with an offset greater than {@code afterOffset}, oldest first.
+     *
+     * @throws ChangeFeedExpiredException if events after {@code afterOffset} are no longer retained
+     */
+    List<ChangeEventDto> read(long afterOffset, int limit);
+
+    /**
+     * Offset of the newest event, or {@code 0} if nothing has been published yet.
+     */
+    long latestOffset();
+
+    /**
+     * Registers a callback run after every {@link #publish}.
+     */
+    void subscribe(Runnable listener);
+}
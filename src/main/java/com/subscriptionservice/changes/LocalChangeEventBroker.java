@@ -0,0 +1,91 @@
+package com.subscriptionservice.changes;
+
+import com.subscriptionservice.dto.ChangeEventDto;
+import com.subscriptionservice.exception.ChangeFeedExpiredException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process log keeping the last {@code retention} events in a ring buffer, for tests of the feed
+ * that do without a database. Offsets restart from zero with the JVM and only cover events
+ * published on this node, and publishing does not take events out of the outbox, so it cannot back
+ * the relay.
+ */
+public class LocalChangeEventBroker implements ChangeEventBroker {
+    private final ChangeEventDto[] ring;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private long latestOffset;
+
+    public LocalChangeEventBroker(int retention) {
+        if (retention < 1) {
+            throw new IllegalArgumentException("Retention must be positive");
+        }
+        this.ring = new ChangeEventDto[retention];
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (ChangeEvent event : events) {
+                latestOffset++;
+                ring[slot(latestOffset)] = new ChangeEventDto(latestOffset, event.eventId(), event.entityType(),
+                        event.entityId(), event.changeType(), event.occurredAt());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    /**
+     * An offset ahead of the log means it was handed out before a restart, so it is reported as
+     * expired as well.
+     */
+    @Override
+    public List<ChangeEventDto> read(long afterOffset, int limit) {
+        lock.readLock().lock();
+        try {
+            long oldestOffset = Math.max(1, latestOffset - ring.length + 1);
+            if (afterOffset < oldestOffset - 1 || afterOffset > latestOffset) {
+                throw new ChangeFeedExpiredException("Changes after offset " + afterOffset
+                        + " are no longer available, resynchronize and continue from offset " + latestOffset);
+            }
+            long lastOffset = Math.min(latestOffset, afterOffset + limit);
+            List<ChangeEventDto> events = new ArrayList<>((int) (lastOffset - afterOffset));
+            for (long offset = afterOffset + 1; offset <= lastOffset; offset++) {
+                events.add(ring[slot(offset)]);
+            }
+            return events;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long latestOffset() {
+        lock.readLock().lock();
+        try {
+            return latestOffset;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void subscribe(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private int slot(long offset) {
+        return (int) ((offset - 1) % ring.length);
+    }
+}
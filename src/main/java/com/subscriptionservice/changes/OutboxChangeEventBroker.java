@@ -0,0 +1,128 @@
+package com.subscriptionservice.changes;
+
+import com.subscriptionservice.dto.ChangeEventDto;
+import com.subscriptionservice.exception.ChangeFeedExpiredException;
+import com.subscriptionservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the log in the outbox table, so every node serves the same offsets and they survive
+ * restarts. Publishing assigns each outbox row the next offset from the {@code change_log_head}
+ * row; relayed events stay readable until the relay purges them after the retention window.
+ * <p>
+ * Subscribers are notified when a relay on this node commits, and otherwise when the periodic
+ * check sees that the log has grown through a relay on another node. Both run subscribers on the
+ * broker's own notification thread, so reads they make hold up neither the relay's request thread
+ * nor the shared scheduler.
+ */
+@Slf4j
+public class OutboxChangeEventBroker implements ChangeEventBroker {
+    private final OutboxEventRepository outboxRepository;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong notifiedOffset = new AtomicLong();
+    private final ScheduledExecutorService notifier =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("change-log-notifier-"));
+
+    public OutboxChangeEventBroker(OutboxEventRepository outboxRepository, Duration pollInterval) {
+        this.outboxRepository = outboxRepository;
+        notifier.scheduleWithFixedDelay(this::checkForNewEvents, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Must run in the relay's transaction, which has loaded the events: their offsets are written
+     * when it flushes and become visible when it commits.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxRepository.advanceLatestOffset(events.size());
+        long offset = outboxRepository.findLatestOffset() - events.size();
+        for (ChangeEvent event : events) {
+            outboxRepository.getReferenceById(event.eventId()).setLogOffset(++offset);
+        }
+        long latestOffset = offset;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notifier.execute(() -> notifySubscribers(latestOffset));
+            }
+        });
+    }
+
+    /**
+     * Reads the primary even with read replicas configured: an offset handed out by one node must
+     * not look like it is ahead of the log to a node reading a lagging replica. An offset ahead of
+     * the log was never handed out by it, so it is reported as expired as well.
+     */
+    @Override
+    @Transactional
+    public List<ChangeEventDto> read(long afterOffset, int limit) {
+        long latestOffset = outboxRepository.findLatestOffset();
+        if (afterOffset > latestOffset) {
+            throw expired(afterOffset, latestOffset);
+        }
+        List<ChangeEventDto> events = outboxRepository.findPublishedAfter(afterOffset, Limit.of(limit));
+        if (afterOffset < latestOffset && (events.isEmpty() || events.get(0).getOffset() != afterOffset + 1)) {
+            throw expired(afterOffset, latestOffset);
+        }
+        return events;
+    }
+
+    @Override
+    @Transactional
+    public long latestOffset() {
+        return outboxRepository.findLatestOffset();
+    }
+
+    @Override
+    public void subscribe(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void close() {
+        notifier.shutdownNow();
+    }
+
+    private void checkForNewEvents() {
+        try {
+            notifySubscribers(outboxRepository.findLatestOffset());
+        } catch (RuntimeException e) {
+            log.warn("Checking the change log for new events failed", e);
+        }
+    }
+
+    private void notifySubscribers(long latestOffset) {
+        if (notifiedOffset.getAndAccumulate(latestOffset, Math::max) < latestOffset) {
+            for (Runnable listener : listeners) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    log.warn("Change log subscriber failed", e);
+                }
+            }
+        }
+    }
+
+    private static ChangeFeedExpiredException expired(long afterOffset, long latestOffset) {
+        return new ChangeFeedExpiredException("Changes after offset " + afterOffset
+                + " are no longer available, resynchronize and continue from offset " + latestOffset);
+    }
+}
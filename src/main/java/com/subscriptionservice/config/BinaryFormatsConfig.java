@@ -0,0 +1,91 @@
+package com.subscriptionservice.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Lets clients opt into Smile ({@value #SMILE_VALUE}) or CBOR ({@code application/cbor}) through
+ * the {@code Accept} header on the endpoints that list them in {@code produces}, which is the bulk
+ * list endpoints only. Everywhere else the binary converters are never offered, so single-entity
+ * responses and their ETags have just the JSON representation. The binary mappers share the
+ * application's Jackson settings but write dates as epoch milliseconds, which is the main saving
+ * over JSON besides field names.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new ExplicitSmileConverter(binaryObjectMapper(objectMapperBuilder.getObject(), new SmileFactory())));
+        converters.add(new ExplicitCborConverter(binaryObjectMapper(objectMapperBuilder.getObject(), new CBORFactory())));
+    }
+
+    public static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Declines to write when asked without a media type, which is how Spring finds what an endpoint
+     * without {@code produces} can return.
+     */
+    private static class ExplicitSmileConverter extends MappingJackson2SmileHttpMessageConverter {
+        ExplicitSmileConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return mediaType != null && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+            return mediaType != null && super.canWrite(type, clazz, mediaType);
+        }
+    }
+
+    /**
+     * CBOR counterpart of {@link ExplicitSmileConverter}.
+     */
+    private static class ExplicitCborConverter extends MappingJackson2CborHttpMessageConverter {
+        ExplicitCborConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return mediaType != null && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+            return mediaType != null && super.canWrite(type, clazz, mediaType);
+        }
+    }
+}
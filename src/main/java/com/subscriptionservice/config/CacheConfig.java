@@ -0,0 +1,101 @@
+package com.subscriptionservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.subscriptionservice.cache.BroadcastingCache;
+import com.subscriptionservice.cache.BroadcastingCacheManager;
+import com.subscriptionservice.cache.CacheInvalidationBus;
+import com.subscriptionservice.cache.LocalCacheInvalidationBus;
+import com.subscriptionservice.cache.SecondLevelCacheBroadcaster;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CachingProperties.class)
+public class CacheConfig {
+    public static final String USERS_CACHE = "users";
+    public static final String ANALYTICS_CACHE = "analytics";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheInvalidationBus cacheInvalidationBus() {
+        return new LocalCacheInvalidationBus();
+    }
+
+    @Bean
+    public BroadcastingCacheManager cacheManager(CachingProperties properties, CacheInvalidationBus cacheInvalidationBus) {
+        List<CaffeineCache> caches = properties.getCaches().entrySet().stream()
+                .map(entry -> new CaffeineCache(entry.getKey(), Caffeine.newBuilder()
+                        .maximumSize(entry.getValue().getMaximumSize())
+                        .expireAfterWrite(entry.getValue().getTtl())
+                        .recordStats()
+                        .build()))
+                .toList();
+        return new BroadcastingCacheManager(cacheInvalidationBus, caches);
+    }
+
+    /**
+     * JCache manager holding the Hibernate second-level cache regions, each bounded by its
+     * {@code caching.regions} entry. The update-timestamps region that keeps query results consistent
+     * is created unbounded and never expires, as Hibernate requires.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CachingProperties properties) {
+        // A private manager per application context; the provider's default one is a JVM-wide singleton.
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-regions:" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        properties.getRegions().forEach((name, spec) -> cacheManager.createCache(name, new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(spec.getMaximumSize()))
+                .setExpireAfterWrite(OptionalLong.of(spec.getTtl().toNanos()))));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public SecondLevelCacheBroadcaster secondLevelCacheBroadcaster(CacheInvalidationBus cacheInvalidationBus) {
+        return new SecondLevelCacheBroadcaster(cacheInvalidationBus);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager,
+                                                                  SecondLevelCacheBroadcaster broadcaster) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, broadcaster.regionFactory());
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(broadcaster));
+        };
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<BroadcastingCache> broadcastingCacheMeterBinderProvider() {
+        return (cache, tags) -> cache.getTarget() instanceof CaffeineCache caffeineCache
+                ? new CaffeineCacheMetrics<>(caffeineCache.getNativeCache(), cache.getName(), tags)
+                : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.subscriptionservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "caching")
+public class CachingProperties {
+
+    /** Spring caches used through {@code @Cacheable}. */
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    /** Hibernate second-level cache and query cache regions. */
+    private Map<String, Spec> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+
+        private long maximumSize = 10_000;
+
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
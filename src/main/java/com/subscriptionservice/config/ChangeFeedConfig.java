@@ -0,0 +1,19 @@
+package com.subscriptionservice.config;
+
+import com.subscriptionservice.changes.ChangeEventBroker;
+import com.subscriptionservice.changes.OutboxChangeEventBroker;
+import com.subscriptionservice.repository.OutboxEventRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+
+    @Bean(destroyMethod = "close")
+    public ChangeEventBroker changeEventBroker(OutboxEventRepository outboxRepository,
+                                               ChangeFeedProperties properties) {
+        return new OutboxChangeEventBroker(outboxRepository, properties.getPollInterval());
+    }
+}
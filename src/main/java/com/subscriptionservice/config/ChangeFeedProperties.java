@@ -0,0 +1,31 @@
+package com.subscriptionservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "subscriptions.changes")
+public class ChangeFeedProperties {
+
+    private boolean relayEnabled = true;
+
+    /** Delay between the end of one relay run and the start of the next. */
+    private Duration relayInterval = Duration.ofMillis(200);
+
+    /** Outbox events published per transaction. */
+    private int relayBatchSize = 500;
+
+    /** How long published events stay in the log for consumers that fall behind. */
+    private Duration retention = Duration.ofDays(7);
+
+    /** Delay between purges of events older than the retention window. */
+    private Duration purgeInterval = Duration.ofMinutes(1);
+
+    /** How often each node checks the log for events published by the relays of other nodes. */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /** How long a poll waits for new changes before returning an empty page. */
+    private Duration pollTimeout = Duration.ofSeconds(25);
+}
@@ -0,0 +1,43 @@
+package com.subscriptionservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * JDBC and R2DBC side by side. Spring Boot stops auto-configuring the JDBC {@code DataSource} once an
+ * R2DBC {@link ConnectionFactory} is present, so the Hikari pool that JPA and Flyway use is declared
+ * here from the usual {@code spring.datasource.*} properties. The R2DBC connection factory itself is
+ * auto-configured from {@code spring.r2dbc.*} and only serves the reactive read path.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties,
+                                       ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        DataSourceBuilder<HikariDataSource> builder = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class);
+        connectionDetails.ifAvailable(details -> builder
+                .url(details.getJdbcUrl())
+                .username(details.getUsername())
+                .password(details.getPassword())
+                .driverClassName(details.getDriverClassName()));
+        return builder.build();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,25 @@
+package com.subscriptionservice.config;
+
+import com.subscriptionservice.idempotency.DatabaseIdempotencyStore;
+import com.subscriptionservice.idempotency.IdempotencyStore;
+import com.subscriptionservice.idempotency.InMemoryIdempotencyStore;
+import com.subscriptionservice.repository.IdempotencyRecordRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, IdempotencyRecordRepository repository,
+                                             PlatformTransactionManager transactionManager) {
+        return switch (properties.getStore()) {
+            case MEMORY -> new InMemoryIdempotencyStore(properties.getTtl(), properties.getMaximumKeys());
+            case DATABASE -> new DatabaseIdempotencyStore(repository, properties.getTtl(), properties.getLease(),
+                    properties.getPollInterval(), transactionManager);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.subscriptionservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    /** Where idempotency keys are kept: in this node's memory, or in the database for clusters. */
+    private Store store = Store.MEMORY;
+
+    /** How long a completed response is replayed for retries with the same key. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Keys kept by the in-memory store; the least recently used are evicted first. */
+    private long maximumKeys = 100_000;
+
+    /** How long a duplicate waits for the original request before it is rejected with 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** Database store: how long a claim lasts when its node never completes the request. */
+    private Duration lease = Duration.ofMinutes(1);
+
+    /** Database store: delay between checks while a duplicate waits for the original response. */
+    private Duration pollInterval = Duration.ofMillis(50);
+
+    /** Database store: delay between deletions of expired keys. */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+
+    public enum Store {
+        MEMORY, DATABASE
+    }
+}
@@ -0,0 +1,20 @@
+package com.subscriptionservice.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@link io.micrometer.core.annotation.Timed} on Spring beans. HTTP endpoints, repository
+ * queries, HikariCP and Hibernate statistics are instrumented by Spring Boot's auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_CALLS = "service.calls";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.subscriptionservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionservice.datasource.ConnectionAcquireMonitor;
+import com.subscriptionservice.ratelimit.RateLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Per-client rate limiting of the REST endpoints, with load shedding driven by the wait for
+ * connections from the primary pool. Only active with {@code rate-limit.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public ConnectionAcquireMonitor connectionAcquireMonitor() {
+        return new ConnectionAcquireMonitor();
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionAcquireMonitorPostProcessor(ObjectProvider<ConnectionAcquireMonitor> monitor,
+                                                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConnectionAcquireMonitorPostProcessor(monitor, meterRegistry);
+    }
+
+    /**
+     * Runs after the request observation filter, so rejected requests still show up in
+     * {@code http.server.requests}.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   ConnectionAcquireMonitor connectionAcquireMonitor,
+                                                                   ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(properties, connectionAcquireMonitor, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*", "/users", "/users/*", "/reactive/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Installs the monitor as the metrics tracker of the primary pool before it starts. The pool's
+     * Micrometer metrics are kept by forwarding to the tracker Spring Boot would otherwise install.
+     */
+    private record ConnectionAcquireMonitorPostProcessor(ObjectProvider<ConnectionAcquireMonitor> monitor,
+                                                         ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource dataSource)) {
+                return bean;
+            }
+            MetricsTrackerFactory delegate = dataSource.getMetricsTrackerFactory();
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (delegate == null && registry != null) {
+                delegate = new MicrometerMetricsTrackerFactory(registry);
+            }
+            dataSource.setMetricsTrackerFactory(monitor.getObject()
+                    .trackerFactory(delegate, Duration.ofMillis(dataSource.getConnectionTimeout())));
+            return bean;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.subscriptionservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled;
+
+    /** Header carrying the client's API key; requests without it are limited per remote address. */
+    private String clientHeader = "X-API-Key";
+
+    /**
+     * API keys that get a bucket of their own. Requests carrying any other key are limited per
+     * remote address, so inventing keys does not buy a client more budget.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /** Tokens added to every client's bucket per second. */
+    private double tokensPerSecond = 50;
+
+    /** Bucket capacity, the largest burst a client can send at once. */
+    private int burst = 100;
+
+    /** Client buckets kept in memory; the least recently used are dropped beyond that. */
+    private long maximumClients = 100_000;
+
+    /** Tokens taken by a request that matches none of the routes. */
+    private int defaultCost = 1;
+
+    /** Per-route costs; the first matching route applies. */
+    private List<Route> routes = new ArrayList<>();
+
+    private LoadShedding loadShedding = new LoadShedding();
+
+    @Data
+    public static class Route {
+
+        /** HTTP method to match, or any method if not set. */
+        private String method;
+
+        /** Path pattern, for example {@code /api/analytics/**}. */
+        private String pattern;
+
+        private int cost = 1;
+    }
+
+    @Data
+    public static class LoadShedding {
+
+        /** Average wait for a pooled connection above which the primary pool counts as overloaded. */
+        private Duration maxAcquireTime = Duration.ofMillis(50);
+
+        /**
+         * Factor applied to every request cost while the pool is overloaded. The result is capped at
+         * the burst, so a shed request can still be served once the client's bucket is full.
+         */
+        private int costMultiplier = 4;
+    }
+}
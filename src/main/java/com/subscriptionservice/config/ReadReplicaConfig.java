@@ -0,0 +1,101 @@
+package com.subscriptionservice.config;
+
+import com.subscriptionservice.datasource.ReadReplicaJpaTransactionManager;
+import com.subscriptionservice.datasource.ReadReplicaRoutingDataSource;
+import com.subscriptionservice.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps the primary pool in a {@link ReadReplicaRoutingDataSource} so that read-only transactions
+ * run on the replicas listed under {@code read-replicas.targets}. Each replica gets its own Hikari
+ * pool named {@code replica-N}, whose {@code hikaricp.*} metrics give the per-target latency. Only
+ * active with {@code read-replicas.enabled=true}.
+ * <p>
+ * Replicas lag behind the primary, so a read-only transaction may not see a write that committed
+ * just before it. To keep that lag out of the caches, read-only transactions do not populate the
+ * second-level cache (see {@link ReadReplicaJpaTransactionManager}) and lookups cached with
+ * {@code @Cacheable} run in read-write transactions on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    /**
+     * Declared with the concrete type so the bean factory sees its {@link Ordered} precedence before
+     * instantiating it; a plain {@code BeanPostProcessor} return type would register it in definition
+     * order instead.
+     */
+    @Bean
+    static ReadReplicaDataSourcePostProcessor readReplicaDataSourcePostProcessor(
+            ObjectProvider<ReadReplicaProperties> properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReadReplicaDataSourcePostProcessor(properties, meterRegistry);
+    }
+
+    /**
+     * Replaces the transaction manager Spring Boot would otherwise create, applying the same
+     * {@code spring.transaction.*} customizations.
+     */
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new ReadReplicaJpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(customizer -> customizer.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    /**
+     * Ordered ahead of other data source wrappers, such as the slow query log, so they see the
+     * statements of both the primary and the replicas.
+     */
+    record ReadReplicaDataSourcePostProcessor(ObjectProvider<ReadReplicaProperties> properties,
+                                              ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            ReadReplicaProperties readReplicas = properties.getObject();
+            MeterRegistry registry = meterRegistry.getObject();
+            List<HikariDataSource> replicas = new ArrayList<>(readReplicas.getTargets().size());
+            for (ReadReplicaProperties.Target target : readReplicas.getTargets()) {
+                HikariDataSource replica = new HikariDataSource();
+                replica.setPoolName("replica-" + (replicas.size() + 1));
+                replica.setJdbcUrl(target.getUrl());
+                replica.setUsername(target.getUsername());
+                replica.setPassword(target.getPassword());
+                replica.setMaximumPoolSize(readReplicas.getMaximumPoolSize());
+                replica.setConnectionTimeout(readReplicas.getConnectionTimeout().toMillis());
+                replica.setInitializationFailTimeout(-1);
+                replica.setReadOnly(true);
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                replicas.add(replica);
+            }
+            return new ReadReplicaRoutingDataSource(primary, new ReplicaPool(replicas, primary,
+                    readReplicas.getStrategy(), readReplicas.getRetryInterval(), registry));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
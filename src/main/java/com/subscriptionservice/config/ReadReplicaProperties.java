@@ -0,0 +1,36 @@
+package com.subscriptionservice.config;
+
+import com.subscriptionservice.datasource.ReplicaSelectionStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled;
+
+    private ReplicaSelectionStrategy strategy = ReplicaSelectionStrategy.ROUND_ROBIN;
+
+    /** How long to wait for a replica connection before trying the next target. */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /** How long a replica that failed to connect is skipped. */
+    private Duration retryInterval = Duration.ofSeconds(30);
+
+    /** Connection pool size of each replica. */
+    private int maximumPoolSize = 10;
+
+    private List<Target> targets = new ArrayList<>();
+
+    @Data
+    public static class Target {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,40 @@
+package com.subscriptionservice.config;
+
+import com.subscriptionservice.logging.SlowQueryLogListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every {@link DataSource} in a proxy that times statements and hands them to
+ * {@link SlowQueryLogListener}. Only active with {@code slow-query-log.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "slow-query-log", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SlowQueryLogProperties.class)
+public class SlowQueryLogConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryLogDataSourcePostProcessor(ObjectProvider<SlowQueryLogProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    SlowQueryLogProperties slowQueryLog = properties.getObject();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SlowQueryLogListener(slowQueryLog.getThreshold(), slowQueryLog.getSampleRate()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.subscriptionservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "slow-query-log")
+public class SlowQueryLogProperties {
+
+    private boolean enabled;
+
+    /** Statements running at least this long are candidates for logging. */
+    private Duration threshold = Duration.ofMillis(500);
+
+    /** Fraction of slow statements that are actually logged, between 0 and 1. */
+    private double sampleRate = 1.0;
+}
@@ -0,0 +1,22 @@
+package com.subscriptionservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "subscriptions.expiry")
+public class SubscriptionExpiryProperties {
+
+    private boolean enabled = true;
+
+    /** Delay between the end of one run and the start of the next. */
+    private Duration interval = Duration.ofMinutes(1);
+
+    /** Subscriptions claimed and expired per transaction. */
+    private int chunkSize = 500;
+
+    /** Threads draining chunks in parallel on this node. */
+    private int workers = 4;
+}
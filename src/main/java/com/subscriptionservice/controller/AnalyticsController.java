@@ -0,0 +1,51 @@
+package com.subscriptionservice.controller;
+
+import com.subscriptionservice.dto.ActiveSubscriptionsDto;
+import com.subscriptionservice.dto.RevenueDto;
+import com.subscriptionservice.dto.UserSpendDto;
+import com.subscriptionservice.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Revenue and spend aggregates over subscriptions")
+public class AnalyticsController {
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/revenue")
+    @Operation(summary = "Monthly recurring revenue of active subscriptions per service and plan")
+    public ResponseEntity<List<RevenueDto>> getMonthlyRevenue() {
+        return ResponseEntity.ok(analyticsService.getMonthlyRevenue());
+    }
+
+    @GetMapping("/spend")
+    @Operation(summary = "Monthly spend per user ordered by user id",
+            description = "Keyset pagination: pass the last user id received as 'after' to get the next page")
+    public ResponseEntity<List<UserSpendDto>> getSpendPerUser(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + AnalyticsService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(analyticsService.getSpendPerUser(after, limit));
+    }
+
+    @GetMapping("/active")
+    @Operation(summary = "Number of subscriptions active at a point in time",
+            description = "Defaults to the current minute, so repeated calls share the cached snapshot")
+    public ResponseEntity<ActiveSubscriptionsDto> getActiveSubscriptions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime at) {
+        return ResponseEntity.ok(analyticsService.getActiveSubscriptions(
+                at != null ? at : OffsetDateTime.now().truncatedTo(ChronoUnit.MINUTES)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.subscriptionservice.controller;
+
+import com.subscriptionservice.dto.ChangeFeedDto;
+import com.subscriptionservice.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Change Feed", description = "Incremental feed of subscription and user changes")
+public class ChangeFeedController {
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping
+    @Operation(summary = "Long-poll subscription and user changes after an offset",
+            description = "Answers as soon as there are changes after 'since', or with an empty page when the poll "
+                    + "times out; pass 'nextOffset' as 'since' in the next request. Without 'since' the current offset "
+                    + "is returned immediately. 410 means the offset is no longer retained and the consumer has to "
+                    + "resynchronize from the regular endpoints. Events can be delivered more than once and carry "
+                    + "the same 'eventId' when they are.")
+    public DeferredResult<ChangeFeedDto> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "" + ChangeFeedService.DEFAULT_PAGE_SIZE) int limit) {
+        return changeFeedService.poll(since, limit);
+    }
+}
@@ -0,0 +1,36 @@
+package com.subscriptionservice.controller;
+
+import com.subscriptionservice.exception.PreconditionFailedException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Strong entity tags derived from the optimistic-locking version of an entity. A version changes
+ * on every update, so it identifies the representation without hashing the response body.
+ */
+final class EntityTags {
+    private static final Pattern STRONG_TAG = Pattern.compile("\"(\\d{1,18})\"");
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version required by an {@code If-Match} header, or {@code null} when any version
+     * is acceptable. Weak or foreign tags can never match a strong tag, so they fail the precondition.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Matcher matcher = STRONG_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+        return Long.valueOf(matcher.group(1));
+    }
+}
@@ -0,0 +1,63 @@
+package com.subscriptionservice.controller;
+
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.UserDto;
+import com.subscriptionservice.service.ReactiveReadService;
+import com.subscriptionservice.service.SubscriptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking mirror of the read endpoints under {@code /reactive}. Spring MVC subscribes to the
+ * returned publishers asynchronously, so the servlet thread is released while R2DBC queries run.
+ * Lists are collected into a JSON array as in the blocking endpoints unless the client accepts
+ * {@code application/x-ndjson}, in which case they are written element by element with backpressure.
+ */
+@RestController
+@RequestMapping("/reactive")
+@RequiredArgsConstructor
+@Tag(name = "Reactive Reads", description = "Non-blocking read endpoints backed by R2DBC")
+public class ReactiveReadController {
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping("/api/subscriptions")
+    @Operation(summary = "Get a page of subscriptions ordered by id")
+    public Flux<SubscriptionDto> getAllSubscriptions(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + SubscriptionService.DEFAULT_PAGE_SIZE) int limit) {
+        return reactiveReadService.getSubscriptionsPage(after, limit);
+    }
+
+    @GetMapping(value = "/api/subscriptions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all subscriptions as newline-delimited JSON ordered by id")
+    public Flux<SubscriptionDto> streamSubscriptions(@RequestParam(defaultValue = "0") long after) {
+        return reactiveReadService.streamSubscriptions(after);
+    }
+
+    @GetMapping("/api/subscriptions/{id}")
+    public Mono<ResponseEntity<SubscriptionDto>> getSubscriptionById(@PathVariable Long id) {
+        return reactiveReadService.getSubscriptionById(id)
+                .map(subscription -> ResponseEntity.ok().eTag(EntityTags.of(subscription.getVersion())).body(subscription));
+    }
+
+    @GetMapping("/api/subscriptions/user/{userId}")
+    public Flux<SubscriptionDto> getSubscriptionsByUserId(@PathVariable Long userId) {
+        return reactiveReadService.getSubscriptionsByUserId(userId);
+    }
+
+    @GetMapping("/users/{id}")
+    public Mono<ResponseEntity<UserDto>> getUser(@PathVariable Long id) {
+        return reactiveReadService.getUser(id)
+                .map(user -> ResponseEntity.ok().eTag(EntityTags.of(user.getVersion())).body(user));
+    }
+}
@@ -1,44 +1,129 @@
 package com.subscriptionservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.subscriptionservice.config.BinaryFormatsConfig;
+import com.subscriptionservice.dto.BulkSubscriptionResultDto;
 import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.SubscriptionSearchDto;
+import com.subscriptionservice.dto.TopSubscriptionDto;
+import com.subscriptionservice.idempotency.IdempotentRequests;
+import com.subscriptionservice.service.BatchGet;
 import com.subscriptionservice.service.SubscriptionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/subscriptions")
 @RequiredArgsConstructor
 @Tag(name = "Subscription Management", description = "APIs for managing user subscriptions")
 public class SubscriptionController {
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final SubscriptionService subscriptionService;
+    private final ObjectMapper objectMapper;
+    private final IdempotentRequests idempotentRequests;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryFormatsConfig.SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(summary = "Get a page of subscriptions ordered by id",
+            description = "Keyset pagination: pass the id of the last subscription received as 'after' to get the next page")
+    public ResponseEntity<List<SubscriptionDto>> getAllSubscriptions(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + SubscriptionService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(subscriptionService.getSubscriptionsPage(after, limit));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search subscriptions by service name, plan, price range and date range",
+            description = "serviceName matches any part of the name and plan the whole plan, both ignoring case; "
+                    + "from/to select subscriptions whose period overlaps the range. Keyset pagination as for the list")
+    public ResponseEntity<List<SubscriptionDto>> searchSubscriptions(
+            SubscriptionSearchDto search,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + SubscriptionService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(subscriptionService.searchSubscriptions(search, after, limit));
+    }
 
-    @GetMapping
-    public ResponseEntity<List<SubscriptionDto>> getAllSubscriptions() {
-        return ResponseEntity.ok(subscriptionService.getAllSubscriptions());
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all subscriptions as newline-delimited JSON ordered by id")
+    public ResponseEntity<StreamingResponseBody> streamSubscriptions(@RequestParam(defaultValue = "0") long after) {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                subscriptionService.streamSubscriptions(after, dto -> {
+                    try {
+                        writer.write(dto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
     }
 
     @GetMapping("/{id}")
+    @Operation(summary = "Get a subscription",
+            description = "The ETag is the subscription version; a matching If-None-Match is answered with 304")
     public ResponseEntity<SubscriptionDto> getSubscriptionById(@PathVariable Long id) {
-        return ResponseEntity.ok(subscriptionService.getSubscriptionById(id));
+        SubscriptionDto subscription = subscriptionService.getSubscriptionById(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(subscription.getVersion())).body(subscription);
+    }
+
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get up to " + BatchGet.MAX_SIZE + " subscriptions by id",
+            description = "Returns an object keyed by the requested ids; ids that do not exist map to null")
+    public ResponseEntity<Map<Long, SubscriptionDto>> getSubscriptionsByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(subscriptionService.getSubscriptionsByIds(ids));
     }
 
     @PostMapping
-    public ResponseEntity<Long> createSubscription(@Valid @RequestBody SubscriptionDto subscriptionDto) {
-        return new ResponseEntity<>(subscriptionService.createSubscription(subscriptionDto), HttpStatus.CREATED);
+    @Operation(summary = "Create a subscription",
+            description = "Retries carrying the same Idempotency-Key get the original response instead of creating "
+                    + "another subscription; reusing a key with a different body is rejected with 422")
+    public ResponseEntity<Long> createSubscription(
+            @RequestHeader(value = IdempotentRequests.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody SubscriptionDto subscriptionDto) {
+        return idempotentRequests.execute(idempotencyKey, "POST /api/subscriptions", subscriptionDto, Long.class,
+                () -> new ResponseEntity<>(subscriptionService.createSubscription(subscriptionDto), HttpStatus.CREATED));
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Create up to " + SubscriptionService.MAX_BULK_SIZE + " subscriptions at once",
+            description = "Returns one result per submitted item, in request order")
+    public ResponseEntity<List<BulkSubscriptionResultDto>> createSubscriptions(
+            @RequestBody List<SubscriptionDto> subscriptionDtos) {
+        return ResponseEntity.ok(subscriptionService.createSubscriptions(subscriptionDtos));
     }
 
     @PutMapping("/{id}")
+    @Operation(summary = "Update a subscription",
+            description = "With If-Match the update is rejected with 412 unless the ETag is still current")
     public ResponseEntity<SubscriptionDto> updateSubscription(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody SubscriptionDto subscriptionDto) {
-        return ResponseEntity.ok(subscriptionService.updateSubscription(id, subscriptionDto));
+        SubscriptionDto subscription = subscriptionService.updateSubscription(
+                id, subscriptionDto, EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(subscription.getVersion())).body(subscription);
     }
 
     @DeleteMapping("/{id}")
@@ -47,14 +132,16 @@ public class SubscriptionController {
         return ResponseEntity.noContent().build();
     }
 
-    @GetMapping("/user/{userId}")
+    @GetMapping(value = "/user/{userId}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, BinaryFormatsConfig.SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<List<SubscriptionDto>> getSubscriptionsByUserId(@PathVariable Long userId) {
         return ResponseEntity.ok(subscriptionService.getSubscriptionsByUserId(userId));
     }
 
     @GetMapping("/top")
     @Operation(summary = "Get top subscriptions by popularity")
-    public ResponseEntity<List<Object[]>> getTopSubscriptions() {
-        return ResponseEntity.ok(subscriptionService.getTopSubscriptions());
+    public ResponseEntity<List<TopSubscriptionDto>> getTopSubscriptions(
+            @RequestParam(defaultValue = "" + SubscriptionService.DEFAULT_TOP_SIZE) int limit) {
+        return ResponseEntity.ok(subscriptionService.getTopSubscriptions(limit));
     }
 } 
\ No newline at end of file
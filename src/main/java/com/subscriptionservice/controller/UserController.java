@@ -2,15 +2,22 @@ package com.subscriptionservice.controller;
 
 import com.subscriptionservice.dto.UserDto;
 import com.subscriptionservice.dto.UserUpdateDto;
+import com.subscriptionservice.idempotency.IdempotentRequests;
+import com.subscriptionservice.service.SubscriptionService;
 import com.subscriptionservice.service.UserService;
 
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -18,20 +25,48 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "User Management", description = "APIs for managing user")
 public class UserController {
     private final UserService userService;
+    private final IdempotentRequests idempotentRequests;
 
     @PostMapping
-    public ResponseEntity<Long> createUser(@Valid @RequestBody UserDto userDto) {
-        return ResponseEntity.ok(userService.createUser(userDto));
+    @Operation(summary = "Create a user",
+            description = "Retries carrying the same Idempotency-Key get the original response instead of creating "
+                    + "another user; reusing a key with a different body is rejected with 422")
+    public ResponseEntity<Long> createUser(
+            @RequestHeader(value = IdempotentRequests.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody UserDto userDto) {
+        return idempotentRequests.execute(idempotencyKey, "POST /users", userDto, Long.class,
+                () -> ResponseEntity.ok(userService.createUser(userDto)));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search users by name, email or phone",
+            description = "Matches any part of the first, middle or last name, email or phone, ignoring case. "
+                    + "Keyset pagination: pass the last user id received as 'after' to get the next page")
+    public ResponseEntity<List<UserDto>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + SubscriptionService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(userService.searchUsers(q, after, limit));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUser(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUser(id));
+        UserDto user = userService.getUser(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(user.getVersion())).body(user);
+    }
+
+    @PostMapping("/batch-get")
+    public ResponseEntity<Map<Long, UserDto>> getUsersByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<UserDto> updateUser(@PathVariable Long id, @Valid @RequestBody UserUpdateDto userDto) {
-        return ResponseEntity.ok(userService.updateUser(id, userDto));
+    public ResponseEntity<UserDto> updateUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserUpdateDto userDto) {
+        UserDto user = userService.updateUser(id, userDto, EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(user.getVersion())).body(user);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,104 @@
+package com.subscriptionservice.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Exponentially weighted moving average of how long threads wait for a pooled connection. Samples
+ * come from the Hikari metrics tracker, so measuring adds no work to the connection path beyond two
+ * atomic updates. A connection timeout counts as a wait of the full timeout.
+ */
+public class ConnectionAcquireMonitor {
+    private static final double SAMPLE_WEIGHT = 0.2;
+
+    private final LongSupplier clock;
+    private final AtomicLong averageNanos = new AtomicLong();
+    private final AtomicLong lastSampleAt = new AtomicLong(Long.MIN_VALUE);
+
+    public ConnectionAcquireMonitor() {
+        this(System::nanoTime);
+    }
+
+    ConnectionAcquireMonitor(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a tracker factory that feeds this monitor and forwards every event to {@code delegate},
+     * which may be {@code null}.
+     */
+    public MetricsTrackerFactory trackerFactory(MetricsTrackerFactory delegate, Duration connectionTimeout) {
+        return (poolName, poolStats) -> new Tracker(delegate == null ? null : delegate.create(poolName, poolStats),
+                connectionTimeout.toNanos());
+    }
+
+    /**
+     * Current average, or zero if no connection has been requested within {@code maxAge}; an idle
+     * pool is not under pressure however slow its last acquisitions were.
+     */
+    public Duration averageAcquireTime(Duration maxAge) {
+        long lastSample = lastSampleAt.get();
+        if (lastSample == Long.MIN_VALUE || clock.getAsLong() - lastSample > maxAge.toNanos()) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(averageNanos.get());
+    }
+
+    void record(long elapsedNanos) {
+        averageNanos.accumulateAndGet(elapsedNanos,
+                (average, sample) -> average + (long) ((sample - average) * SAMPLE_WEIGHT));
+        lastSampleAt.set(clock.getAsLong());
+    }
+
+    private class Tracker implements IMetricsTracker {
+        private final IMetricsTracker delegate;
+        private final long timeoutNanos;
+
+        Tracker(IMetricsTracker delegate, long timeoutNanos) {
+            this.delegate = delegate;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            record(elapsedAcquiredNanos);
+            if (delegate != null) {
+                delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            record(timeoutNanos);
+            if (delegate != null) {
+                delegate.recordConnectionTimeout();
+            }
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            if (delegate != null) {
+                delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            if (delegate != null) {
+                delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.subscriptionservice.datasource;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Lets read-only transactions, which run on a replica, read the second-level cache without putting
+ * entities into it. Only what the primary returned gets cached, so a lagging replica cannot leave
+ * behind an old version that later reads or an {@code If-Match} check would take for the current one.
+ */
+public class ReadReplicaJpaTransactionManager extends JpaTransactionManager {
+
+    public ReadReplicaJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (definition.isReadOnly()) {
+            currentEntityManager().setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        // An entity manager opened in view outlives the transaction and may write in the next one
+        EntityManager entityManager = currentEntityManager();
+        super.doCleanupAfterCompletion(transaction);
+        if (entityManager.isOpen()) {
+            entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.USE);
+        }
+    }
+
+    private EntityManager currentEntityManager() {
+        EntityManagerHolder holder =
+                (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder.getEntityManager();
+    }
+}
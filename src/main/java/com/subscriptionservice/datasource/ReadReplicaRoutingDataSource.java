@@ -0,0 +1,30 @@
+package com.subscriptionservice.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary. The physical
+ * connection is only fetched when the first statement runs, after the transaction manager has
+ * marked the connection read-only, so the choice follows {@code @Transactional(readOnly = true)}.
+ */
+public class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final ReplicaPool replicas;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReplicaPool replicas) {
+        super(primary);
+        setReadOnlyDataSource(replicas);
+        this.replicas = replicas;
+    }
+
+    @Override
+    public void close() throws IOException {
+        replicas.close();
+        if (obtainTargetDataSource() instanceof Closeable primary) {
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.subscriptionservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections from a set of read replicas. The replica is chosen by the configured
+ * {@link ReplicaSelectionStrategy}. If it cannot provide a connection, the remaining replicas are
+ * tried in turn and the primary is used as a last resort. A replica that failed is skipped for
+ * {@code retryInterval}, so an outage costs one connection timeout rather than one per request.
+ */
+@Slf4j
+public class ReplicaPool extends AbstractDataSource implements Closeable {
+    public static final String FAILURES = "datasource.replica.failures";
+    public static final String FALLBACKS = "datasource.replica.fallbacks";
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final ReplicaSelectionStrategy strategy;
+    private final long retryIntervalNanos;
+    private final Counter fallbacks;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<HikariDataSource> replicas, DataSource primary, ReplicaSelectionStrategy strategy,
+                       Duration retryInterval, MeterRegistry meterRegistry) {
+        this.replicas = replicas.stream()
+                .map(dataSource -> new Replica(dataSource, Counter.builder(FAILURES)
+                        .tag("target", dataSource.getPoolName())
+                        .description("Connection attempts that failed on a read replica")
+                        .register(meterRegistry)))
+                .toList();
+        this.primary = primary;
+        this.strategy = strategy;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.fallbacks = Counter.builder(FALLBACKS)
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        for (Replica replica : candidates()) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.unavailableUntil = System.nanoTime() + retryIntervalNanos;
+                replica.failures.increment();
+                log.warn("Read replica {} is unavailable: {}", replica.dataSource.getPoolName(), e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * Returns the available replicas in the order they should be tried.
+     */
+    private List<Replica> candidates() {
+        long now = System.nanoTime();
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        List<Replica> candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (now - replica.unavailableUntil >= 0) {
+                candidates.add(replica);
+            }
+        }
+        if (strategy == ReplicaSelectionStrategy.LEAST_CONNECTIONS) {
+            candidates.sort(Comparator.comparingInt(Replica::activeConnections));
+        }
+        return candidates;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final Counter failures;
+        private volatile long unavailableUntil = System.nanoTime();
+
+        private Replica(HikariDataSource dataSource, Counter failures) {
+            this.dataSource = dataSource;
+            this.failures = failures;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.subscriptionservice.datasource;
+
+/**
+ * How {@link ReplicaPool} picks the replica for the next connection.
+ */
+public enum ReplicaSelectionStrategy {
+    /** Rotates through the replicas in order. */
+    ROUND_ROBIN,
+    /** Prefers the replica with the fewest connections in use, rotating between ties. */
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,17 @@
+package com.subscriptionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveSubscriptionsDto {
+
+    private OffsetDateTime at;
+
+    private Long activeSubscriptions;
+}
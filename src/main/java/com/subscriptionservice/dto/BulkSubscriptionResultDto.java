@@ -0,0 +1,32 @@
+package com.subscriptionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSubscriptionResultDto {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;
+
+    private Status status;
+
+    private Long id;
+
+    private String error;
+
+    public static BulkSubscriptionResultDto created(int index, Long id) {
+        return new BulkSubscriptionResultDto(index, Status.CREATED, id, null);
+    }
+
+    public static BulkSubscriptionResultDto failed(int index, String error) {
+        return new BulkSubscriptionResultDto(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,27 @@
+package com.subscriptionservice.dto;
+
+import com.subscriptionservice.model.ChangeEntityType;
+import com.subscriptionservice.model.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDto {
+
+    private long offset;
+
+    private long eventId;
+
+    private ChangeEntityType entityType;
+
+    private long entityId;
+
+    private ChangeType changeType;
+
+    private OffsetDateTime occurredAt;
+}
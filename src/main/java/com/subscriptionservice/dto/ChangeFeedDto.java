@@ -0,0 +1,18 @@
+package com.subscriptionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedDto {
+
+    private List<ChangeEventDto> changes;
+
+    /** Offset to pass as {@code since} in the next request. */
+    private long nextOffset;
+}
@@ -0,0 +1,21 @@
+package com.subscriptionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueDto {
+
+    private String serviceName;
+
+    private String plan;
+
+    private Long activeSubscriptions;
+
+    private BigDecimal monthlyRevenue;
+}
@@ -1,16 +1,25 @@
 package com.subscriptionservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.subscriptionservice.model.SubscriptionStatus;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class SubscriptionDto {
 
+    private Long id;
+
     @NotBlank(message = "Service name is required")
     private String serviceName;
 
@@ -19,6 +28,7 @@ public class SubscriptionDto {
 
     @NotNull(message = "Price is required")
     @Positive(message = "Price must be positive")
+    @Digits(integer = 10, fraction = 2, message = "Price must have at most 10 integer digits and 2 decimal places")
     private BigDecimal price;
 
     @NotNull(message = "Start date is required")
@@ -29,4 +39,10 @@ public class SubscriptionDto {
 
     @NotNull(message = "User ID is required")
     private Long userId;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private SubscriptionStatus status;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 } 
\ No newline at end of file
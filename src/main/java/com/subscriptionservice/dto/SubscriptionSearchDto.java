@@ -0,0 +1,36 @@
+package com.subscriptionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Subscription search filters; filters left {@code null} are not applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionSearchDto {
+
+    /** Case-insensitive substring of the service name. */
+    private String serviceName;
+
+    /** Plan, compared case-insensitively. */
+    private String plan;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    /** Start of the period the subscription has to overlap. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime from;
+
+    /** End of the period the subscription has to overlap. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime to;
+}
@@ -0,0 +1,15 @@
+package com.subscriptionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSubscriptionDto {
+
+    private String serviceName;
+
+    private Long subscriptionCount;
+}
@@ -1,5 +1,6 @@
 package com.subscriptionservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -9,6 +10,9 @@ import lombok.Data;
 @Data
 public class UserDto {
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id;
+
     @NotBlank(message = "First name is required")
     @Size(min = 2, max = 50, message = "First name must be between 2 and 50 characters")
     private String firstName;
@@ -28,4 +32,7 @@ public class UserDto {
     @NotBlank(message = "Phone number is required")
     @Pattern(regexp = "^\\+?[1-9]\\d{10}$", message = "Invalid phone number format. The correct number of digits is 11")
     private String phone;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 } 
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.subscriptionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSpendDto {
+
+    private Long userId;
+
+    private Long activeSubscriptions;
+
+    private BigDecimal monthlySpend;
+}
@@ -0,0 +1,11 @@
+package com.subscriptionservice.exception;
+
+/**
+ * Thrown when a change feed consumer asks for events that have already been dropped from the log.
+ * The consumer has to resynchronize from the regular endpoints before following the feed again.
+ */
+public class ChangeFeedExpiredException extends RuntimeException {
+    public ChangeFeedExpiredException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,9 @@
 package com.subscriptionservice.exception;
 
+import com.subscriptionservice.model.User;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,10 +13,14 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private static final Map<String, String> CONSTRAINT_MESSAGES = Map.of(
+            User.EMAIL_CONSTRAINT, "User with this email already exists",
+            User.PHONE_CONSTRAINT, "User with this phone number already exists");
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -44,6 +51,49 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    /**
+     * Reports a write rejected by a database constraint as 409 Conflict. Known constraints are
+     * recognised by name in the driver message, which every supported database includes.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        String cause = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        String message = CONSTRAINT_MESSAGES.entrySet().stream()
+                .filter(entry -> cause.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse("Request conflicts with existing data");
+        return createErrorResponse(HttpStatus.CONFLICT, message);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException ex) {
+        return createErrorResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    /**
+     * A concurrent transaction updated the same row first; the client should reload and retry.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return createErrorResponse(HttpStatus.CONFLICT, "Resource was modified concurrently, reload and retry");
+    }
+
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleChangeFeedExpired(ChangeFeedExpiredException ex) {
+        return createErrorResponse(HttpStatus.GONE, ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        return createErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyInUseException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyInUse(IdempotencyKeyInUseException ex) {
+        return createErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
@@ -0,0 +1,11 @@
+package com.subscriptionservice.exception;
+
+/**
+ * Thrown when the request first sent with an idempotency key is still running after a duplicate
+ * has waited for it. The client can retry later with the same key.
+ */
+public class IdempotencyKeyInUseException extends RuntimeException {
+    public IdempotencyKeyInUseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.subscriptionservice.exception;
+
+/**
+ * Thrown when an idempotency key is reused with a request that differs from the one it was first sent with.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
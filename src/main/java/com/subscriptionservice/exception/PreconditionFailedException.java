@@ -0,0 +1,11 @@
+package com.subscriptionservice.exception;
+
+/**
+ * Thrown when a conditional request, such as a PUT with {@code If-Match}, targets a version of the
+ * resource that is no longer current.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
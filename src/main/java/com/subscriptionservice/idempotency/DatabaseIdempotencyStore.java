@@ -0,0 +1,107 @@
+package com.subscriptionservice.idempotency;
+
+import com.subscriptionservice.exception.IdempotencyKeyInUseException;
+import com.subscriptionservice.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Store shared by every node through the {@code idempotency_keys} table. A claim is an insert that
+ * only one node can win. Claims expire after the lease, so a key held by a node that died before
+ * completing its request becomes usable again. Duplicates poll for the original response.
+ * <p>
+ * The claimed request runs in one transaction with recording its response, so a crash can never
+ * leave its changes committed but the key still open for a retry to run it again. That transaction
+ * locks the claim first, which keeps other nodes from taking over the key while it runs however
+ * long that takes.
+ */
+@Slf4j
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration pollInterval;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository, Duration ttl, Duration lease,
+                                    Duration pollInterval, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.pollInterval = pollInterval;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Optional<IdempotencyEntry> claim(String key, String fingerprint) {
+        while (true) {
+            OffsetDateTime now = OffsetDateTime.now();
+            repository.deleteExpired(key, now);
+            try {
+                repository.insert(key, fingerprint, now.plus(lease));
+                return Optional.empty();
+            } catch (DataIntegrityViolationException e) {
+                Optional<IdempotencyEntry> existing = repository.findEntry(key, now);
+                if (existing.isPresent()) {
+                    return existing;
+                }
+                // Released or expired in between; try to claim it again.
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        repository.complete(key, response.statusCode(), response.body(), OffsetDateTime.now().plus(ttl));
+    }
+
+    @Override
+    public <T> T runClaimed(String key, Supplier<T> action, Function<T, IdempotentResponse> response) {
+        return transactionTemplate.execute(status -> {
+            if (repository.extendClaim(key, OffsetDateTime.now().plus(lease)) == 0) {
+                throw new IdempotencyKeyInUseException("The claim on this idempotency key expired, retry later");
+            }
+            T result = action.get();
+            complete(key, response.apply(result));
+            return result;
+        });
+    }
+
+    @Override
+    public void release(String key) {
+        repository.deleteInProgress(key);
+    }
+
+    @Override
+    public Optional<IdempotentResponse> await(String key, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Optional<IdempotencyEntry> entry = repository.findEntry(key, OffsetDateTime.now());
+            if (entry.isEmpty() || entry.get().response() != null) {
+                return entry.map(IdempotencyEntry::response);
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return Optional.empty();
+            }
+            Thread.sleep(Math.min(pollInterval.toMillis(), Duration.ofNanos(remaining).toMillis() + 1));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval}", initialDelayString = "${idempotency.purge-interval}")
+    public void purgeExpired() {
+        int purged = repository.deleteAllExpired(OffsetDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
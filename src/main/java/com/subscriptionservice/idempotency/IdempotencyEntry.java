@@ -0,0 +1,14 @@
+package com.subscriptionservice.idempotency;
+
+/**
+ * State of an idempotency key held by a store.
+ *
+ * @param fingerprint hash of the request that claimed the key
+ * @param response    the recorded response, or {@code null} while that request is in progress
+ */
+public record IdempotencyEntry(String fingerprint, IdempotentResponse response) {
+
+    public IdempotencyEntry(String fingerprint, Integer statusCode, String body) {
+        this(fingerprint, statusCode == null ? null : new IdempotentResponse(statusCode, body));
+    }
+}
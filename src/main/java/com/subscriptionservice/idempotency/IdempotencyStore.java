@@ -0,0 +1,44 @@
+package com.subscriptionservice.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Records which idempotency keys have been used and the responses sent for them. Entries expire
+ * after the configured TTL, after which a key can be used again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims {@code key} for a request with the given fingerprint. Returns an empty optional if the
+     * caller now holds the key and has to {@link #complete} or {@link #release} it, otherwise the
+     * entry already stored for the key.
+     */
+    Optional<IdempotencyEntry> claim(String key, String fingerprint);
+
+    void complete(String key, IdempotentResponse response);
+
+    /**
+     * Runs {@code action} for a claimed key and completes the key with the response derived from its
+     * result. A store kept in the application's database overrides this to record the response in
+     * the action's transaction, so that it exists exactly when the action's changes committed.
+     */
+    default <T> T runClaimed(String key, Supplier<T> action, Function<T, IdempotentResponse> response) {
+        T result = action.get();
+        complete(key, response.apply(result));
+        return result;
+    }
+
+    /**
+     * Gives up a claim whose request failed, so that a retry runs the request again.
+     */
+    void release(String key);
+
+    /**
+     * Waits up to {@code timeout} for the request holding {@code key} to finish. Returns its response,
+     * or an empty optional if it is still running, was released or the key is unknown.
+     */
+    Optional<IdempotentResponse> await(String key, Duration timeout) throws InterruptedException;
+}
@@ -0,0 +1,131 @@
+package com.subscriptionservice.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionservice.config.IdempotencyProperties;
+import com.subscriptionservice.exception.IdempotencyKeyInUseException;
+import com.subscriptionservice.exception.IdempotencyKeyMismatchException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs requests sent with an {@code Idempotency-Key} header at most once per key. A retry gets the
+ * recorded response of the first request, marked with {@code Idempotent-Replayed: true}. A duplicate
+ * that arrives while the first request is still running waits for its response instead of running
+ * the request a second time.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotentRequests {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Runs {@code action} unless a request with the same key and scope has already been answered.
+     *
+     * @param key      the client's idempotency key, or {@code null} to simply run the action
+     * @param scope    the endpoint the key belongs to; the same key may be used on different endpoints
+     * @param request  the request body, which has to match the one the key was first used with
+     * @param bodyType type the recorded response body is read back as
+     */
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String storeKey = scope + " " + key;
+        String fingerprint = fingerprint(scope, request);
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            Optional<IdempotencyEntry> existing = store.claim(storeKey, fingerprint);
+            if (existing.isEmpty()) {
+                return executeClaimed(storeKey, action);
+            }
+            if (!existing.get().fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyMismatchException(
+                        IDEMPOTENCY_KEY_HEADER + " was already used with a different request");
+            }
+            IdempotentResponse response = existing.get().response();
+            if (response == null) {
+                response = awaitResponse(storeKey, deadline);
+            }
+            if (response != null) {
+                return replay(response, bodyType);
+            }
+            // The original request failed and gave up the key, so claim it again.
+        }
+    }
+
+    private <T> ResponseEntity<T> executeClaimed(String storeKey, Supplier<ResponseEntity<T>> action) {
+        try {
+            return store.runClaimed(storeKey, action,
+                    response -> new IdempotentResponse(response.getStatusCode().value(), write(response.getBody())));
+        } catch (RuntimeException | Error e) {
+            store.release(storeKey);
+            throw e;
+        }
+    }
+
+    private IdempotentResponse awaitResponse(String storeKey, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                Optional<IdempotentResponse> response = store.await(storeKey, Duration.ofNanos(remaining));
+                if (response.isPresent() || deadline - System.nanoTime() > 0) {
+                    return response.orElse(null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        throw new IdempotencyKeyInUseException(
+                "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed, retry later");
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotentResponse response, Class<T> bodyType) {
+        try {
+            return ResponseEntity.status(response.statusCode())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readValue(response.body(), bodyType));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotent response", e);
+        }
+    }
+
+    private String fingerprint(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot record idempotent response", e);
+        }
+    }
+}
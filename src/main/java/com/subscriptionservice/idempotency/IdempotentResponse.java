@@ -0,0 +1,10 @@
+package com.subscriptionservice.idempotency;
+
+/**
+ * Response recorded for an idempotency key.
+ *
+ * @param statusCode HTTP status of the original response
+ * @param body       original response body as JSON
+ */
+public record IdempotentResponse(int statusCode, String body) {
+}
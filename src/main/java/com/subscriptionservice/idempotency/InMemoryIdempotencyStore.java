@@ -0,0 +1,73 @@
+package com.subscriptionservice.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Store for a single node, kept in a bounded Caffeine map. Duplicates of a request in progress wait
+ * on the future of the original rather than polling.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final ConcurrentMap<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(Duration ttl, long maximumKeys) {
+        Cache<String, Entry> cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumKeys)
+                .build();
+        this.entries = cache.asMap();
+    }
+
+    @Override
+    public Optional<IdempotencyEntry> claim(String key, String fingerprint) {
+        Entry existing = entries.putIfAbsent(key, new Entry(fingerprint, new CompletableFuture<>()));
+        return existing == null
+                ? Optional.empty()
+                : Optional.of(new IdempotencyEntry(existing.fingerprint(), existing.response().getNow(null)));
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.response().complete(response);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.response().complete(null);
+        }
+    }
+
+    @Override
+    public Optional<IdempotentResponse> await(String key, Duration timeout) throws InterruptedException {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(entry.response().get(timeout.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @param response completed with the recorded response, or with {@code null} when released
+     */
+    private record Entry(String fingerprint, CompletableFuture<IdempotentResponse> response) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.subscriptionservice.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs statements that ran for at least the configured threshold, together with their bind values.
+ * Only the elapsed time is checked on the hot path; a statement is formatted only when it is slow
+ * and picked by the sample, so a burst of slow queries cannot flood the log.
+ */
+@Slf4j
+public class SlowQueryLogListener implements QueryExecutionListener {
+    private static final int MAX_LOGGED_BATCH_ENTRIES = 10;
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    public SlowQueryLogListener(Duration threshold, double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || !log.isWarnEnabled()) {
+            return;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        log.warn("Slow query: {} ms, success={}, batchSize={}, {}", execInfo.getElapsedTime(),
+                execInfo.isSuccess(), execInfo.getBatchSize(), describe(queryInfoList));
+    }
+
+    private static String describe(List<QueryInfo> queryInfoList) {
+        StringJoiner queries = new StringJoiner("; ");
+        for (QueryInfo queryInfo : queryInfoList) {
+            StringBuilder query = new StringBuilder(queryInfo.getQuery());
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            parametersList.stream()
+                    .filter(parameters -> !parameters.isEmpty())
+                    .limit(MAX_LOGGED_BATCH_ENTRIES)
+                    .forEach(parameters -> query.append(' ').append(describeParameters(parameters)));
+            if (parametersList.size() > MAX_LOGGED_BATCH_ENTRIES) {
+                query.append(" ... ").append(parametersList.size() - MAX_LOGGED_BATCH_ENTRIES).append(" more");
+            }
+            queries.add(query);
+        }
+        return queries.toString();
+    }
+
+    private static String describeParameters(List<ParameterSetOperation> parameters) {
+        StringJoiner values = new StringJoiner(", ", "[", "]");
+        parameters.forEach(parameter -> values.add(ParameterSetOperation.isSetNullParameterOperation(parameter)
+                ? "null"
+                : String.valueOf(parameter.getArgs()[1])));
+        return values.toString();
+    }
+}
@@ -12,6 +12,8 @@ import org.mapstruct.Named;
 public interface SubscriptionMapper {
     
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "status", ignore = true)
     @Mapping(target = "user", source = "user")
     Subscription toEntity(SubscriptionDto dto, User user);
 
@@ -19,6 +21,8 @@ public interface SubscriptionMapper {
     SubscriptionDto toDto(Subscription subscription);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "status", ignore = true)
     @Mapping(target = "user", source = "user")
     void updateEntityFromDto(SubscriptionDto dto, @MappingTarget Subscription subscription, User user);
 } 
\ No newline at end of file
@@ -12,12 +12,14 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
 public interface UserMapper {
     
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "subscriptions", ignore = true)
     User toEntity(UserDto dto);
 
     UserDto toDto(User entity);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "subscriptions", ignore = true)
     void updateEntityFromDto(UserUpdateDto dto, @MappingTarget User entity);
 } 
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.subscriptionservice.model;
+
+public enum ChangeEntityType {
+    SUBSCRIPTION,
+    USER
+}
@@ -0,0 +1,7 @@
+package com.subscriptionservice.model;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
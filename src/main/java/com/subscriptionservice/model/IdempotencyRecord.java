@@ -0,0 +1,30 @@
+package com.subscriptionservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Entity
+@Table(name = "idempotency_keys")
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    @Column(length = 300)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private Integer statusCode;
+
+    @Column(length = 4000)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private OffsetDateTime expiresAt;
+}
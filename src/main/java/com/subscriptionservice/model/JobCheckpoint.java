@@ -0,0 +1,24 @@
+package com.subscriptionservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Point in time up to which a background job has completed its work, shared by every node.
+ */
+@Data
+@Entity
+@Table(name = "job_checkpoints")
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+    @Id
+    private String jobName;
+
+    @Column(nullable = false)
+    private OffsetDateTime processedUntil;
+}
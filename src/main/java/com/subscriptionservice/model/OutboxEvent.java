@@ -0,0 +1,42 @@
+package com.subscriptionservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Change to a subscription or user recorded in the outbox. It is pending until the relay assigns
+ * its offset in the change log, and stays in the table as part of the log until purged. Events
+ * only name the changed entity; consumers read its current state through the regular endpoints.
+ */
+@Data
+@Entity
+@Table(name = "change_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_outbox_seq")
+    @SequenceGenerator(name = "change_outbox_seq", sequenceName = "change_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    private OffsetDateTime occurredAt;
+
+    /** Position in the change log, {@code null} while the event is pending. */
+    private Long logOffset;
+}
@@ -0,0 +1,23 @@
+package com.subscriptionservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@Entity
+@Table(name = "service_subscription_counts")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceSubscriptionCount {
+    @Id
+    private String serviceName;
+
+    @Column(nullable = false)
+    private long subscriptionCount;
+
+    /** Incremented by every change to the count. */
+    @Column(nullable = false)
+    private long revision;
+}
@@ -5,16 +5,24 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 @Data
 @Entity
 @Table(name = "subscriptions")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Subscription.CACHE_REGION)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Subscription {
+    public static final String CACHE_REGION = "subscriptions";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subscriptions_seq")
+    @SequenceGenerator(name = "subscriptions_seq", sequenceName = "subscriptions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)  
@@ -24,8 +32,8 @@ public class Subscription {
     @Column(nullable = false)
     private String plan;
 
-    @Column(nullable = false)
-    private Double price;
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal price;
 
     @Column(nullable = false)
     private OffsetDateTime startDate;
@@ -33,7 +41,25 @@ public class Subscription {
     @Column(nullable = false)
     private OffsetDateTime endDate;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SubscriptionStatus status = SubscriptionStatus.ACTIVE;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
-} 
\ No newline at end of file
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Derives the status from the end date whenever the row is written. Subscriptions that expire
+     * later are moved to {@link SubscriptionStatus#EXPIRED} by the expiry job.
+     */
+    @PrePersist
+    @PreUpdate
+    void refreshStatus() {
+        status = endDate.isAfter(OffsetDateTime.now()) ? SubscriptionStatus.ACTIVE : SubscriptionStatus.EXPIRED;
+    }
+}
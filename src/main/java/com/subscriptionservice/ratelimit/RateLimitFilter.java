@@ -0,0 +1,131 @@
+package com.subscriptionservice.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionservice.config.RateLimitProperties;
+import com.subscriptionservice.datasource.ConnectionAcquireMonitor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rejects requests with 429 and {@code Retry-After} once their client has spent its token bucket.
+ * Clients are identified by API key if it is one of the configured keys, and by remote address
+ * otherwise. Each request costs the tokens of the first matching route, so endpoints that hold a
+ * connection longer use up the budget faster.
+ * <p>
+ * While the average wait for a connection from the primary pool is above the configured threshold,
+ * every cost is multiplied. Clients sending far more than their share are then turned away before
+ * they reach the pool, and clients well within their budget keep being served. A cost never exceeds
+ * the burst, so even the most expensive request fits a full bucket and {@code Retry-After} can be
+ * honoured.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    /** Acquisition samples older than this no longer say anything about the pool. */
+    private static final Duration SAMPLE_MAX_AGE = Duration.ofSeconds(1);
+
+    private final TokenBucketRateLimiter limiter;
+    private final ConnectionAcquireMonitor acquireMonitor;
+    private final RateLimitProperties properties;
+    private final Set<String> apiKeys;
+    private final List<RouteCost> routes;
+    private final ObjectMapper objectMapper;
+    private final Counter rateLimitedCounter;
+    private final Counter shedCounter;
+
+    public RateLimitFilter(RateLimitProperties properties, ConnectionAcquireMonitor acquireMonitor,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limiter = new TokenBucketRateLimiter(properties.getTokensPerSecond(), properties.getBurst(),
+                properties.getMaximumClients());
+        this.acquireMonitor = acquireMonitor;
+        this.properties = properties;
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new RouteCost(route.getMethod(), PathPatternParser.defaultInstance.parse(route.getPattern()),
+                        route.getCost()))
+                .toList();
+        this.objectMapper = objectMapper;
+        this.rateLimitedCounter = Counter.builder("http.server.requests.throttled")
+                .description("Requests rejected because the client exceeded its rate limit")
+                .tag("reason", "rate-limit")
+                .register(meterRegistry);
+        this.shedCounter = Counter.builder("http.server.requests.throttled")
+                .description("Requests rejected because the connection pool was overloaded")
+                .tag("reason", "load-shedding")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean overloaded = acquireMonitor.averageAcquireTime(SAMPLE_MAX_AGE)
+                .compareTo(properties.getLoadShedding().getMaxAcquireTime()) > 0;
+        int cost = costOf(request);
+        if (overloaded) {
+            cost *= properties.getLoadShedding().getCostMultiplier();
+        }
+        cost = Math.min(cost, properties.getBurst());
+
+        Duration retryAfter = limiter.tryAcquire(clientOf(request), cost);
+        if (retryAfter.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        (overloaded ? shedCounter : rateLimitedCounter).increment();
+        reject(response, retryAfter, overloaded);
+    }
+
+    int costOf(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (RouteCost route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod()))
+                    && route.pattern().matches(path)) {
+                return route.cost();
+            }
+        }
+        return properties.getDefaultCost();
+    }
+
+    /**
+     * The remote address is taken as the servlet container reports it; behind a proxy, set
+     * {@code server.forward-headers-strategy} so that it is the client's rather than the proxy's.
+     */
+    private String clientOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getClientHeader());
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "address:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, Duration retryAfter, boolean overloaded) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", overloaded ? "Service is overloaded, retry later" : "Rate limit exceeded, retry later");
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private record RouteCost(String method, PathPattern pattern, int cost) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.subscriptionservice.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per client, implemented as the generic cell rate algorithm: each bucket is a single
+ * {@link AtomicLong} holding the time at which it would be full again, updated with compare-and-set.
+ * Taking tokens never blocks and needs no periodic refill.
+ * <p>
+ * Buckets idle for longer than a full refill are equivalent to new ones and are evicted.
+ */
+public class TokenBucketRateLimiter {
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param tokensPerSecond refill rate of every bucket
+     * @param burst           bucket capacity, the most tokens a client can spend at once
+     * @param maximumClients  buckets kept at most; the least recently used are dropped beyond that
+     */
+    public TokenBucketRateLimiter(double tokensPerSecond, int burst, long maximumClients) {
+        this(tokensPerSecond, burst, maximumClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double tokensPerSecond, int burst, long maximumClients, LongSupplier clock) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.nanosPerToken = (long) (1_000_000_000 / tokensPerSecond);
+        this.burstNanos = nanosPerToken * burst;
+        long origin = clock.getAsLong();
+        this.clock = () -> clock.getAsLong() - origin;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumClients)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    /**
+     * Takes {@code tokens} from the bucket of {@code client}. Returns {@link Duration#ZERO} if they
+     * were available, otherwise how long the client has to wait until they are; nothing is taken in
+     * that case.
+     */
+    public Duration tryAcquire(String client, int tokens) {
+        AtomicLong fullAt = buckets.get(client, key -> new AtomicLong());
+        long cost = nanosPerToken * tokens;
+        while (true) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return Duration.ofNanos(excess);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
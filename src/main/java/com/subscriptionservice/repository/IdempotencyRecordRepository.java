@@ -0,0 +1,67 @@
+package com.subscriptionservice.repository;
+
+import com.subscriptionservice.idempotency.IdempotencyEntry;
+import com.subscriptionservice.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Every method runs in a read-write transaction, its own unless called in one, so lookups go to the
+ * primary even when read replicas are enabled, and reads are projections, so a long-lived
+ * persistence context never hands back a stale entity while a duplicate request polls.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Query("SELECT new com.subscriptionservice.idempotency.IdempotencyEntry(r.fingerprint, r.statusCode, r.responseBody) " +
+            "FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.expiresAt > :now")
+    Optional<IdempotencyEntry> findEntry(@Param("key") String key, @Param("now") OffsetDateTime now);
+
+    /**
+     * Fails with a {@link org.springframework.dao.DataIntegrityViolationException} if the key is taken.
+     */
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO IdempotencyRecord (idempotencyKey, fingerprint, expiresAt) VALUES (:key, :fingerprint, :expiresAt)")
+    int insert(@Param("key") String key, @Param("fingerprint") String fingerprint,
+               @Param("expiresAt") OffsetDateTime expiresAt);
+
+    /**
+     * Moves the expiry of an in-progress claim and, as an update, locks it until the transaction
+     * ends. Returns {@code 0} if the claim no longer exists.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.expiresAt = :expiresAt WHERE r.idempotencyKey = :key AND r.statusCode IS NULL")
+    int extendClaim(@Param("key") String key, @Param("expiresAt") OffsetDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.statusCode = :statusCode, r.responseBody = :body, r.expiresAt = :expiresAt " +
+            "WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("statusCode") int statusCode, @Param("body") String body,
+                 @Param("expiresAt") OffsetDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.statusCode IS NULL")
+    int deleteInProgress(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.expiresAt <= :now")
+    int deleteExpired(@Param("key") String key, @Param("now") OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteAllExpired(@Param("now") OffsetDateTime now);
+}
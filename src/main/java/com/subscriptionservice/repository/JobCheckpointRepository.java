@@ -0,0 +1,23 @@
+package com.subscriptionservice.repository;
+
+import com.subscriptionservice.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+    /**
+     * Moves the checkpoint forward to {@code processedUntil}; never moves it back, so nodes finishing
+     * runs out of order cannot undo each other's progress.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobCheckpoint c SET c.processedUntil = :processedUntil WHERE c.jobName = :jobName AND c.processedUntil < :processedUntil")
+    int advance(@Param("jobName") String jobName, @Param("processedUntil") OffsetDateTime processedUntil);
+}
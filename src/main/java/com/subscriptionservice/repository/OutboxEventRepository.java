@@ -0,0 +1,46 @@
+package com.subscriptionservice.repository;
+
+import com.subscriptionservice.dto.ChangeEventDto;
+import com.subscriptionservice.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the {@code limit} oldest pending events. Events locked by a relay on another node are
+     * skipped, so relays never publish the same batch concurrently.
+     */
+    @Query(value = "SELECT * FROM change_outbox WHERE log_offset IS NULL ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockBatch(@Param("limit") int limit);
+
+    /**
+     * Reserves the next {@code count} offsets. The head row stays locked until the transaction ends,
+     * so relays on different nodes assign offsets one after the other, in commit order.
+     */
+    @Modifying
+    @Query(value = "UPDATE change_log_head SET latest_offset = latest_offset + :count WHERE id = 1",
+            nativeQuery = true)
+    void advanceLatestOffset(@Param("count") int count);
+
+    @Query(value = "SELECT latest_offset FROM change_log_head WHERE id = 1", nativeQuery = true)
+    long findLatestOffset();
+
+    @Query("SELECT new com.subscriptionservice.dto.ChangeEventDto(e.logOffset, e.id, e.entityType, e.entityId, " +
+            "e.changeType, e.occurredAt) FROM OutboxEvent e WHERE e.logOffset > :afterOffset ORDER BY e.logOffset")
+    List<ChangeEventDto> findPublishedAfter(@Param("afterOffset") long afterOffset, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.logOffset <= " +
+            "(SELECT MAX(o.logOffset) FROM OutboxEvent o WHERE o.occurredAt < :cutoff)")
+    int deletePublishedUpTo(@Param("cutoff") OffsetDateTime cutoff);
+}
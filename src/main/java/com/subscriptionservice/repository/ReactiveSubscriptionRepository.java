@@ -0,0 +1,75 @@
+package com.subscriptionservice.repository;
+
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.model.SubscriptionStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Non-blocking, read-only access to subscriptions over R2DBC. Rows are mapped straight into
+ * {@link SubscriptionDto}, mirroring the JPA projection in {@link SubscriptionRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveSubscriptionRepository {
+    private static final String SELECT_DTO =
+            "SELECT id, service_name, plan, price, start_date, end_date, user_id, status, version FROM subscriptions ";
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<SubscriptionDto> findDtoById(Long id) {
+        return databaseClient.sql(SELECT_DTO + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveSubscriptionRepository::toDto)
+                .one();
+    }
+
+    public Flux<SubscriptionDto> findDtosByIdGreaterThan(long afterId, int limit) {
+        return databaseClient.sql(SELECT_DTO + "WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveSubscriptionRepository::toDto)
+                .all();
+    }
+
+    public Flux<SubscriptionDto> findDtosByUserId(Long userId) {
+        return databaseClient.sql(SELECT_DTO + "WHERE user_id = :userId ORDER BY id")
+                .bind("userId", userId)
+                .map(ReactiveSubscriptionRepository::toDto)
+                .all();
+    }
+
+    /**
+     * Emits every subscription after {@code afterId} in id order. The fetch size makes the driver
+     * read the result through a cursor, so rows are only pulled from the database as fast as the
+     * subscriber requests them.
+     */
+    public Flux<SubscriptionDto> streamDtosByIdGreaterThan(long afterId) {
+        return databaseClient.sql(SELECT_DTO + "WHERE id > :afterId ORDER BY id")
+                .bind("afterId", afterId)
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(ReactiveSubscriptionRepository::toDto)
+                .all();
+    }
+
+    private static SubscriptionDto toDto(Readable row) {
+        return new SubscriptionDto(
+                row.get("id", Long.class),
+                row.get("service_name", String.class),
+                row.get("plan", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("start_date", OffsetDateTime.class),
+                row.get("end_date", OffsetDateTime.class),
+                row.get("user_id", Long.class),
+                SubscriptionStatus.valueOf(row.get("status", String.class)),
+                row.get("version", Long.class));
+    }
+}
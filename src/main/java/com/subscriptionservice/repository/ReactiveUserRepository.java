@@ -0,0 +1,44 @@
+package com.subscriptionservice.repository;
+
+import com.subscriptionservice.dto.UserDto;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only access to users over R2DBC.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserDto> findDtoById(Long id) {
+        return databaseClient.sql("SELECT id, first_name, middle_name, last_name, email, phone, version FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toDto)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    private static UserDto toDto(Readable row) {
+        UserDto user = new UserDto();
+        user.setId(row.get("id", Long.class));
+        user.setFirstName(row.get("first_name", String.class));
+        user.setMiddleName(row.get("middle_name", String.class));
+        user.setLastName(row.get("last_name", String.class));
+        user.setEmail(row.get("email", String.class));
+        user.setPhone(row.get("phone", String.class));
+        user.setVersion(row.get("version", Long.class));
+        return user;
+    }
+}
@@ -0,0 +1,21 @@
+package com.subscriptionservice.repository;
+
+import java.util.Locale;
+
+/**
+ * Builds {@code LIKE} patterns for case-insensitive substring search. Queries using them compare
+ * against a lower-cased column and declare {@code '\'} as the escape character.
+ */
+public final class SearchPatterns {
+
+    private SearchPatterns() {
+    }
+
+    public static String contains(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,22 @@
+package com.subscriptionservice.repository;
+
+import com.subscriptionservice.model.ServiceSubscriptionCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ServiceSubscriptionCountRepository extends JpaRepository<ServiceSubscriptionCount, String>,
+        ServiceSubscriptionCountUpsertRepository {
+
+    /**
+     * Reads the counter without going through the persistence context, so a copy loaded earlier in
+     * the transaction cannot hide the result of {@link #upsertCount}.
+     */
+    @Query("SELECT new com.subscriptionservice.model.ServiceSubscriptionCount(c.serviceName, c.subscriptionCount, c.revision) " +
+            "FROM ServiceSubscriptionCount c WHERE c.serviceName = :serviceName")
+    Optional<ServiceSubscriptionCount> findCurrent(@Param("serviceName") String serviceName);
+}
@@ -0,0 +1,17 @@
+package com.subscriptionservice.repository;
+
+public interface ServiceSubscriptionCountUpsertRepository {
+
+    /**
+     * Adds {@code delta} to the counter of {@code serviceName}, creating it if needed, and bumps its
+     * revision. A single statement, so concurrent first writes for a service cannot collide.
+     */
+    void upsertCount(String serviceName, long delta);
+
+    /**
+     * Creates the counter of {@code serviceName} with {@code count} at revision 1 unless it already
+     * exists, in which case it is left as it is. Nodes rebuilding the counters at the same time
+     * therefore neither fail nor count a service twice.
+     */
+    void insertCountIfAbsent(String serviceName, long count);
+}
@@ -0,0 +1,75 @@
+package com.subscriptionservice.repository;
+
+import com.subscriptionservice.model.ServiceSubscriptionCount;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * PostgreSQL gets {@code INSERT ... ON CONFLICT}, which never fails on a concurrent insert of the
+ * same key. Other databases (H2 in tests) get the standard {@code MERGE}.
+ */
+public class ServiceSubscriptionCountUpsertRepositoryImpl implements ServiceSubscriptionCountUpsertRepository {
+    private static final String POSTGRESQL_UPSERT = """
+            INSERT INTO service_subscription_counts (service_name, subscription_count, revision)
+            VALUES (:serviceName, :delta, 1)
+            ON CONFLICT (service_name) DO UPDATE
+            SET subscription_count = service_subscription_counts.subscription_count + EXCLUDED.subscription_count,
+                revision = service_subscription_counts.revision + 1""";
+
+    private static final String MERGE_UPSERT = """
+            MERGE INTO service_subscription_counts c
+            USING (VALUES (CAST(:serviceName AS VARCHAR(255)), CAST(:delta AS BIGINT))) AS s (service_name, delta)
+            ON c.service_name = s.service_name
+            WHEN MATCHED THEN UPDATE SET subscription_count = c.subscription_count + s.delta, revision = c.revision + 1
+            WHEN NOT MATCHED THEN INSERT (service_name, subscription_count, revision) VALUES (s.service_name, s.delta, 1)""";
+
+    private static final String POSTGRESQL_INSERT_IF_ABSENT = """
+            INSERT INTO service_subscription_counts (service_name, subscription_count, revision)
+            VALUES (:serviceName, :count, 1)
+            ON CONFLICT (service_name) DO NOTHING""";
+
+    private static final String MERGE_INSERT_IF_ABSENT = """
+            MERGE INTO service_subscription_counts c
+            USING (VALUES (CAST(:serviceName AS VARCHAR(255)), CAST(:count AS BIGINT))) AS s (service_name, subscription_count)
+            ON c.service_name = s.service_name
+            WHEN NOT MATCHED THEN INSERT (service_name, subscription_count, revision)
+                VALUES (s.service_name, s.subscription_count, 1)""";
+
+    private final EntityManager entityManager;
+    private volatile Boolean postgresql;
+
+    public ServiceSubscriptionCountUpsertRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void upsertCount(String serviceName, long delta) {
+        execute(isPostgresql() ? POSTGRESQL_UPSERT : MERGE_UPSERT, serviceName, "delta", delta);
+    }
+
+    @Override
+    public void insertCountIfAbsent(String serviceName, long count) {
+        execute(isPostgresql() ? POSTGRESQL_INSERT_IF_ABSENT : MERGE_INSERT_IF_ABSENT, serviceName, "count", count);
+    }
+
+    private void execute(String statement, String serviceName, String countParameter, long count) {
+        entityManager.createNativeQuery(statement)
+                .unwrap(NativeQuery.class)
+                // Without this Hibernate treats the statement as touching every table and clears all cache regions.
+                .addSynchronizedEntityClass(ServiceSubscriptionCount.class)
+                .setParameter("serviceName", serviceName)
+                .setParameter(countParameter, count)
+                .executeUpdate();
+    }
+
+    // Decided by the connected database rather than the configured dialect, which the tests share with production.
+    private boolean isPostgresql() {
+        if (postgresql == null) {
+            String product = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+            postgresql = "PostgreSQL".equals(product);
+        }
+        return postgresql;
+    }
+}
@@ -1,16 +1,108 @@
 package com.subscriptionservice.repository;
 
+import com.subscriptionservice.dto.RevenueDto;
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.TopSubscriptionDto;
+import com.subscriptionservice.dto.UserSpendDto;
 import com.subscriptionservice.model.Subscription;
+import com.subscriptionservice.model.SubscriptionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
+public interface SubscriptionRepository extends JpaRepository<Subscription, Long>, SubscriptionSearchRepository {
+    /**
+     * Selects the subscription columns and the user_id foreign key straight into {@link SubscriptionDto},
+     * so read paths neither hydrate entities nor touch the user association.
+     */
+    String SELECT_DTO = "SELECT new com.subscriptionservice.dto.SubscriptionDto(" +
+            "s.id, s.serviceName, s.plan, s.price, s.startDate, s.endDate, s.user.id, s.status, s.version) " +
+            "FROM Subscription s ";
+
+    /**
+     * Query cache region for per-user listings. Hibernate drops its entries whenever the subscriptions
+     * table is written through the session or a bulk statement.
+     */
+    String BY_USER_CACHE_REGION = "subscriptions-by-user";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_USER_CACHE_REGION)
+    })
     List<Subscription> findByUserId(Long userId);
 
-    @Query("SELECT s.serviceName, COUNT(s) as count FROM Subscription s GROUP BY s.serviceName ORDER BY count DESC")
-    List<Object[]> findTopSubscriptions();
-} 
\ No newline at end of file
+    @Query(SELECT_DTO + "WHERE s.user.id = :userId ORDER BY s.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_USER_CACHE_REGION)
+    })
+    List<SubscriptionDto> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_DTO + "WHERE s.id > :afterId ORDER BY s.id")
+    List<SubscriptionDto> findDtosByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + "WHERE s.id > :afterId ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<SubscriptionDto> streamDtosByIdGreaterThan(@Param("afterId") Long afterId);
+
+    @Query("SELECT new com.subscriptionservice.dto.TopSubscriptionDto(s.serviceName, COUNT(s)) " +
+            "FROM Subscription s GROUP BY s.serviceName ORDER BY COUNT(s) DESC")
+    List<TopSubscriptionDto> findTopSubscriptions();
+
+    @Query("SELECT new com.subscriptionservice.dto.TopSubscriptionDto(s.serviceName, COUNT(s)) " +
+            "FROM Subscription s WHERE s.user.id = :userId GROUP BY s.serviceName")
+    List<TopSubscriptionDto> countByServiceNameForUser(@Param("userId") Long userId);
+
+    @Query("SELECT new com.subscriptionservice.dto.RevenueDto(s.serviceName, s.plan, COUNT(s), SUM(s.price)) " +
+            "FROM Subscription s WHERE s.status = :status GROUP BY s.serviceName, s.plan " +
+            "ORDER BY s.serviceName, s.plan")
+    List<RevenueDto> sumRevenueByServiceAndPlan(@Param("status") SubscriptionStatus status);
+
+    @Query("SELECT new com.subscriptionservice.dto.UserSpendDto(s.user.id, COUNT(s), SUM(s.price)) " +
+            "FROM Subscription s WHERE s.status = :status AND s.user.id > :afterUserId " +
+            "GROUP BY s.user.id ORDER BY s.user.id")
+    List<UserSpendDto> sumSpendByUser(@Param("status") SubscriptionStatus status,
+                                      @Param("afterUserId") Long afterUserId, Limit limit);
+
+    @Query("SELECT COUNT(s) FROM Subscription s WHERE s.startDate <= :at AND s.endDate > :at")
+    long countActiveAt(@Param("at") OffsetDateTime at);
+
+    /**
+     * Locks the next {@code limit} active subscriptions that ended no later than {@code cutoff}, in
+     * end date order. Rows already locked by another worker or node are skipped rather than waited
+     * on, so concurrent callers always receive disjoint chunks.
+     */
+    @Query(value = "SELECT id FROM subscriptions " +
+            "WHERE status = 'ACTIVE' AND end_date <= :cutoff " +
+            "ORDER BY end_date, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockExpiredIds(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+
+    @Query("SELECT s.id FROM Subscription s WHERE s.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Subscription s WHERE s.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    /**
+     * Bumps the version along with the status, so ETags handed out before the change stop matching.
+     */
+    @Modifying
+    @Query("UPDATE Subscription s SET s.status = :status, s.version = s.version + 1 WHERE s.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") SubscriptionStatus status);
+
+    @Query("SELECT MIN(s.endDate) FROM Subscription s WHERE s.status = :status AND s.endDate <= :cutoff")
+    OffsetDateTime findOldestEndDate(@Param("status") SubscriptionStatus status, @Param("cutoff") OffsetDateTime cutoff);
+}
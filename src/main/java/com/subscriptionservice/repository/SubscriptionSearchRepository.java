@@ -0,0 +1,15 @@
+package com.subscriptionservice.repository;
+
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.SubscriptionSearchDto;
+
+import java.util.List;
+
+public interface SubscriptionSearchRepository {
+
+    /**
+     * Returns up to {@code limit} subscriptions matching every filter set in {@code search}, in id
+     * order after {@code afterId}.
+     */
+    List<SubscriptionDto> searchDtos(SubscriptionSearchDto search, long afterId, int limit);
+}
@@ -0,0 +1,62 @@
+package com.subscriptionservice.repository;
+
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.SubscriptionSearchDto;
+import com.subscriptionservice.model.Subscription;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the search query from the filters actually given, so every combination gets a statement
+ * without {@code :param IS NULL} branches and the planner can pick an index for it. Results are
+ * projected into DTOs like the other read paths.
+ */
+@RequiredArgsConstructor
+public class SubscriptionSearchRepositoryImpl implements SubscriptionSearchRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<SubscriptionDto> searchDtos(SubscriptionSearchDto search, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SubscriptionDto> query = cb.createQuery(SubscriptionDto.class);
+        Root<Subscription> s = query.from(Subscription.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(s.get("id"), afterId));
+        if (search.getServiceName() != null) {
+            predicates.add(cb.like(cb.lower(s.get("serviceName")), SearchPatterns.contains(search.getServiceName()), '\\'));
+        }
+        if (search.getPlan() != null) {
+            predicates.add(cb.equal(cb.lower(s.get("plan")), search.getPlan().toLowerCase(Locale.ROOT)));
+        }
+        if (search.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(s.get("price"), search.getMinPrice()));
+        }
+        if (search.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(s.get("price"), search.getMaxPrice()));
+        }
+        if (search.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(s.get("endDate"), search.getFrom()));
+        }
+        if (search.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(s.get("startDate"), search.getTo()));
+        }
+
+        query.select(cb.construct(SubscriptionDto.class,
+                        s.get("id"), s.get("serviceName"), s.get("plan"), s.get("price"), s.get("startDate"),
+                        s.get("endDate"), s.get("user").get("id"), s.get("status"), s.get("version")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(s.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -2,10 +2,36 @@ package com.subscriptionservice.repository;
 
 import com.subscriptionservice.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    boolean existsByEmail(String email);
-    boolean existsByPhone(String phone);
+    /**
+     * Text matched by user search. On PostgreSQL a trigram index is built over this exact
+     * expression, so the two have to be changed together.
+     */
+    String SEARCH_TEXT = "lower(first_name || ' ' || coalesce(middle_name, '') || ' ' || last_name " +
+            "|| ' ' || email || ' ' || phone)";
+
+    /**
+     * Users whose name, email or phone contain the {@link SearchPatterns#contains} pattern, in id
+     * order after {@code afterId}.
+     */
+    @Query(value = "SELECT * FROM users WHERE " + SEARCH_TEXT + " LIKE :pattern ESCAPE '\\' " +
+            "AND id > :after ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<User> search(@Param("pattern") String pattern, @Param("after") long afterId, @Param("limit") int limit);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteUserById(@Param("id") Long id);
 } 
\ No newline at end of file
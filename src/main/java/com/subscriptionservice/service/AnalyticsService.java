@@ -0,0 +1,64 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.config.CacheConfig;
+import com.subscriptionservice.config.MetricsConfig;
+import com.subscriptionservice.dto.ActiveSubscriptionsDto;
+import com.subscriptionservice.dto.RevenueDto;
+import com.subscriptionservice.dto.UserSpendDto;
+import com.subscriptionservice.model.SubscriptionStatus;
+import com.subscriptionservice.repository.SubscriptionRepository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Revenue and spend aggregates computed in the database. Results are cached as snapshots in the
+ * {@value CacheConfig#ANALYTICS_CACHE} cache, so they may lag writes by up to its TTL. They are
+ * computed on the primary even with read replicas configured, so replica lag does not add to that.
+ * Prices are treated as monthly amounts and only {@link SubscriptionStatus#ACTIVE} subscriptions
+ * are counted towards revenue and spend.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_CALLS)
+public class AnalyticsService {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final SubscriptionRepository subscriptionRepository;
+
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ANALYTICS_CACHE, key = "'revenue'")
+    public List<RevenueDto> getMonthlyRevenue() {
+        return subscriptionRepository.sumRevenueByServiceAndPlan(SubscriptionStatus.ACTIVE);
+    }
+
+    /**
+     * Returns the monthly spend of the next {@code limit} users with active subscriptions, ordered by
+     * user id and starting strictly after {@code afterUserId}.
+     */
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ANALYTICS_CACHE, key = "'spend:' + #afterUserId + ':' + #limit")
+    public List<UserSpendDto> getSpendPerUser(long afterUserId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return subscriptionRepository.sumSpendByUser(SubscriptionStatus.ACTIVE, afterUserId, Limit.of(limit));
+    }
+
+    /**
+     * Counts subscriptions that had started and not yet ended at {@code at}.
+     */
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ANALYTICS_CACHE, key = "'active:' + #at.toInstant()")
+    public ActiveSubscriptionsDto getActiveSubscriptions(OffsetDateTime at) {
+        return new ActiveSubscriptionsDto(at, subscriptionRepository.countActiveAt(at));
+    }
+}
@@ -0,0 +1,52 @@
+package com.subscriptionservice.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Loads the entities of a batch-get request keyed by id in request order, mapping ids that do not
+ * exist to {@code null}. Entities already in the second-level cache are taken from there; the rest
+ * are loaded with {@code IN} queries of at most {@value #CHUNK_SIZE} ids.
+ */
+public final class BatchGet {
+    public static final int MAX_SIZE = 1000;
+
+    static final int CHUNK_SIZE = 500;
+
+    private BatchGet() {
+    }
+
+    static <E, D> Map<Long, D> load(EntityManager entityManager, Class<E> entityClass, List<Long> ids,
+                                    Function<E, D> toDto) {
+        List<Long> distinctIds = validateIds(ids);
+        List<E> entities = entityManager.unwrap(Session.class)
+                .byMultipleIds(entityClass)
+                .withBatchSize(CHUNK_SIZE)
+                .multiLoad(distinctIds);
+        Map<Long, D> result = new LinkedHashMap<>(distinctIds.size() * 2);
+        for (int i = 0; i < distinctIds.size(); i++) {
+            E entity = entities.get(i);
+            result.put(distinctIds.get(i), entity == null ? null : toDto.apply(entity));
+        }
+        return result;
+    }
+
+    /**
+     * Checks the size and content of a batch-get request and returns its ids without duplicates.
+     */
+    private static List<Long> validateIds(List<Long> ids) {
+        if (ids.size() > MAX_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_SIZE + " ids can be requested at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+        return ids.stream().distinct().toList();
+    }
+}
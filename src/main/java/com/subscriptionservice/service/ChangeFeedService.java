@@ -0,0 +1,138 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.changes.ChangeEventBroker;
+import com.subscriptionservice.config.ChangeFeedProperties;
+import com.subscriptionservice.dto.ChangeEventDto;
+import com.subscriptionservice.dto.ChangeFeedDto;
+import com.subscriptionservice.exception.ChangeFeedExpiredException;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Long-poll access to the change log. Waiting polls hold no thread; they are completed when the
+ * broker reports newly published events or when the poll timeout elapses. A notification reads the
+ * log once from the lowest offset any waiting poll asked for and hands each poll its part of the
+ * page, so the number of reads does not grow with the number of waiting polls.
+ */
+@Service
+public class ChangeFeedService {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final ChangeEventBroker broker;
+    private final Duration pollTimeout;
+    private final Set<PendingPoll> pendingPolls = ConcurrentHashMap.newKeySet();
+
+    public ChangeFeedService(ChangeEventBroker broker, ChangeFeedProperties properties) {
+        this.broker = broker;
+        this.pollTimeout = properties.getPollTimeout();
+        broker.subscribe(this::completePendingPolls);
+    }
+
+    /**
+     * Returns up to {@code limit} changes after offset {@code since} as soon as there are any, or an
+     * empty page once the poll timeout elapses. Without {@code since} the current offset is returned
+     * immediately, so a consumer can take it before a full resynchronization and follow the feed
+     * from there.
+     */
+    public DeferredResult<ChangeFeedDto> poll(Long since, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (since == null) {
+            DeferredResult<ChangeFeedDto> result = new DeferredResult<>();
+            result.setResult(new ChangeFeedDto(List.of(), broker.latestOffset()));
+            return result;
+        }
+        if (since < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+
+        DeferredResult<ChangeFeedDto> result = new DeferredResult<>(pollTimeout.toMillis(),
+                new ChangeFeedDto(List.of(), since));
+        PendingPoll poll = new PendingPoll(since, limit, result);
+        if (tryComplete(poll)) {
+            return result;
+        }
+        pendingPolls.add(poll);
+        result.onCompletion(() -> pendingPolls.remove(poll));
+        // Events published between the first check and registration would not notify this poll.
+        tryComplete(poll);
+        return result;
+    }
+
+    private boolean tryComplete(PendingPoll poll) {
+        try {
+            List<ChangeEventDto> changes = broker.read(poll.since(), poll.limit());
+            if (changes.isEmpty()) {
+                return false;
+            }
+            complete(poll, changes);
+        } catch (ChangeFeedExpiredException e) {
+            poll.result().setErrorResult(e);
+            pendingPolls.remove(poll);
+        }
+        return true;
+    }
+
+    /**
+     * Polls waiting beyond a full page are served by reading the next page. If the lowest offset is no
+     * longer retained, the polls are checked one by one, since the others may still be served.
+     */
+    private void completePendingPolls() {
+        List<PendingPoll> polls = new ArrayList<>(pendingPolls);
+        while (!polls.isEmpty()) {
+            long since = polls.stream().mapToLong(PendingPoll::since).min().getAsLong();
+            List<ChangeEventDto> changes;
+            try {
+                changes = broker.read(since, MAX_PAGE_SIZE);
+            } catch (ChangeFeedExpiredException e) {
+                polls.forEach(this::tryComplete);
+                return;
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+            long lastOffset = changes.get(changes.size() - 1).getOffset();
+            List<PendingPoll> beyondPage = new ArrayList<>();
+            for (PendingPoll poll : polls) {
+                if (poll.since() >= lastOffset) {
+                    beyondPage.add(poll);
+                    continue;
+                }
+                int from = firstAfter(changes, poll.since());
+                complete(poll, changes.subList(from, Math.min(changes.size(), from + poll.limit())));
+            }
+            polls = changes.size() < MAX_PAGE_SIZE ? List.of() : beyondPage;
+        }
+    }
+
+    private void complete(PendingPoll poll, List<ChangeEventDto> changes) {
+        poll.result().setResult(new ChangeFeedDto(List.copyOf(changes), changes.get(changes.size() - 1).getOffset()));
+        pendingPolls.remove(poll);
+    }
+
+    private static int firstAfter(List<ChangeEventDto> changes, long offset) {
+        int low = 0;
+        int high = changes.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (changes.get(middle).getOffset() <= offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private record PendingPoll(long since, int limit, DeferredResult<ChangeFeedDto> result) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.changes.ChangeEvent;
+import com.subscriptionservice.changes.ChangeEventBroker;
+import com.subscriptionservice.model.ChangeEntityType;
+import com.subscriptionservice.model.ChangeType;
+import com.subscriptionservice.model.OutboxEvent;
+import com.subscriptionservice.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transactional outbox for subscription and user changes.
+ * <p>
+ * Writers record an event in the same transaction as the change, so an event exists exactly when
+ * the change committed. {@link ChangeRelay} later hands pending events to the
+ * {@link ChangeEventBroker} and purges those older than the retention window.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeOutbox {
+    private final OutboxEventRepository outboxRepository;
+    private final ChangeEventBroker broker;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeEntityType entityType, Long entityId, ChangeType changeType) {
+        outboxRepository.save(new OutboxEvent(null, entityType, entityId, changeType, OffsetDateTime.now(), null));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(ChangeEntityType entityType, Collection<Long> entityIds, ChangeType changeType) {
+        OffsetDateTime now = OffsetDateTime.now();
+        outboxRepository.saveAll(entityIds.stream()
+                .map(entityId -> new OutboxEvent(null, entityType, entityId, changeType, now, null))
+                .toList());
+    }
+
+    /**
+     * Publishes up to {@code limit} pending events in id order and returns how many were published.
+     * The outbox-backed broker assigns their offsets in this transaction, so they stop being pending
+     * exactly when it commits.
+     */
+    @Transactional
+    public int relay(int limit) {
+        List<OutboxEvent> events = outboxRepository.lockBatch(limit);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        broker.publish(events.stream()
+                .map(event -> new ChangeEvent(event.getId(), event.getEntityType(), event.getEntityId(),
+                        event.getChangeType(), event.getOccurredAt()))
+                .toList());
+        return events.size();
+    }
+
+    /**
+     * Deletes the published events that occurred before {@code cutoff}, together with any published
+     * ahead of them, so the log keeps a contiguous range of offsets. Returns how many were deleted.
+     */
+    @Transactional
+    public int purge(OffsetDateTime cutoff) {
+        return outboxRepository.deletePublishedUpTo(cutoff);
+    }
+}
@@ -0,0 +1,46 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.config.ChangeFeedProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Drains the {@link ChangeOutbox} in batches whenever the relay interval elapses, and purges events
+ * older than the retention window. Every node runs a relay; batches are claimed with
+ * {@code FOR UPDATE SKIP LOCKED}, so each event is published by one of them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "subscriptions.changes", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeRelay {
+    private final ChangeOutbox changeOutbox;
+    private final ChangeFeedProperties properties;
+    private final Counter relayedCounter;
+
+    public ChangeRelay(ChangeOutbox changeOutbox, ChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.changeOutbox = changeOutbox;
+        this.properties = properties;
+        this.relayedCounter = Counter.builder("subscriptions.changes.relayed")
+                .description("Change events published from the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${subscriptions.changes.relay-interval}")
+    public void run() {
+        int relayed;
+        do {
+            relayed = changeOutbox.relay(properties.getRelayBatchSize());
+            relayedCounter.increment(relayed);
+        } while (relayed == properties.getRelayBatchSize());
+    }
+
+    @Scheduled(fixedDelayString = "${subscriptions.changes.purge-interval}")
+    public void purge() {
+        changeOutbox.purge(OffsetDateTime.now().minus(properties.getRetention()));
+    }
+}
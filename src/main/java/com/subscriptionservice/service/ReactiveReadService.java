@@ -0,0 +1,52 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.UserDto;
+import com.subscriptionservice.repository.ReactiveSubscriptionRepository;
+import com.subscriptionservice.repository.ReactiveUserRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterparts of the read operations in {@link SubscriptionService} and
+ * {@link UserService}. Queries run over R2DBC, so no thread waits on the database while a request
+ * is in flight. Limits and error reporting match the blocking versions.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveReadService {
+    private final ReactiveSubscriptionRepository subscriptionRepository;
+    private final ReactiveUserRepository userRepository;
+
+    public Flux<SubscriptionDto> getSubscriptionsPage(long afterId, int limit) {
+        if (limit < 1 || limit > SubscriptionService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + SubscriptionService.MAX_PAGE_SIZE);
+        }
+        return subscriptionRepository.findDtosByIdGreaterThan(afterId, limit);
+    }
+
+    public Flux<SubscriptionDto> streamSubscriptions(long afterId) {
+        return subscriptionRepository.streamDtosByIdGreaterThan(afterId);
+    }
+
+    public Mono<SubscriptionDto> getSubscriptionById(Long id) {
+        return subscriptionRepository.findDtoById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Subscription not found with id: " + id)));
+    }
+
+    public Flux<SubscriptionDto> getSubscriptionsByUserId(Long userId) {
+        return userRepository.existsById(userId)
+                .flatMapMany(exists -> exists
+                        ? subscriptionRepository.findDtosByUserId(userId)
+                        : Flux.error(new EntityNotFoundException("User not found with id: " + userId)));
+    }
+
+    public Mono<UserDto> getUser(Long id) {
+        return userRepository.findDtoById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("User not found with id: " + id)));
+    }
+}
@@ -0,0 +1,137 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.config.SubscriptionExpiryProperties;
+import com.subscriptionservice.model.SubscriptionStatus;
+import com.subscriptionservice.repository.JobCheckpointRepository;
+import com.subscriptionservice.repository.SubscriptionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves subscriptions whose end date has passed to {@link SubscriptionStatus#EXPIRED}.
+ * <p>
+ * Each run fixes a cutoff and lets a bounded pool of workers drain the due rows in end date order,
+ * one chunk per transaction. Chunks are claimed with {@code FOR UPDATE SKIP LOCKED}, so the workers
+ * of every node can run concurrently without processing a row twice. Every run scans all active rows
+ * due by the cutoff, so rows left behind by a failed run or committed late are still picked up; the
+ * {@code (status, end_date)} index keeps that scan cheap. When all workers finish, the shared
+ * checkpoint records the cutoff as the last completed run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "subscriptions.expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SubscriptionExpiryProperties.class)
+public class SubscriptionExpiryJob {
+    static final String JOB_NAME = "subscription-expiry";
+
+    private final SubscriptionService subscriptionService;
+    private final SubscriptionRepository subscriptionRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final SubscriptionExpiryProperties properties;
+    private final ExecutorService workers;
+    private final Counter expiredCounter;
+    private final Timer runTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public SubscriptionExpiryJob(SubscriptionService subscriptionService,
+                                 SubscriptionRepository subscriptionRepository,
+                                 JobCheckpointRepository checkpointRepository,
+                                 SubscriptionExpiryProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.subscriptionService = subscriptionService;
+        this.subscriptionRepository = subscriptionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers(),
+                new CustomizableThreadFactory("subscription-expiry-"));
+        this.expiredCounter = Counter.builder("subscriptions.expiry.expired")
+                .description("Subscriptions moved to EXPIRED")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("subscriptions.expiry.run")
+                .description("Duration of an expiry run")
+                .register(meterRegistry);
+        TimeGauge.builder("subscriptions.expiry.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest subscription still waiting to be expired after the last run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${subscriptions.expiry.interval}",
+            initialDelayString = "${subscriptions.expiry.interval}")
+    public void run() {
+        runTimer.record(() -> expireUntil(OffsetDateTime.now()));
+    }
+
+    /**
+     * Expires every active subscription that ended no later than {@code cutoff}. Returns the number of
+     * subscriptions expired by this node.
+     */
+    long expireUntil(OffsetDateTime cutoff) {
+        List<Callable<Long>> tasks = new ArrayList<>(properties.getWorkers());
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            tasks.add(() -> drain(cutoff));
+        }
+
+        long expired = 0;
+        boolean completed = true;
+        try {
+            for (Future<Long> result : workers.invokeAll(tasks)) {
+                try {
+                    expired += result.get();
+                } catch (ExecutionException e) {
+                    completed = false;
+                    log.error("Subscription expiry worker failed", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return expired;
+        }
+
+        if (completed) {
+            checkpointRepository.advance(JOB_NAME, cutoff);
+        }
+        OffsetDateTime oldestPending = subscriptionRepository.findOldestEndDate(SubscriptionStatus.ACTIVE, cutoff);
+        lagMillis.set(oldestPending == null ? 0 : Duration.between(oldestPending, cutoff).toMillis());
+        if (expired > 0) {
+            log.info("Expired {} subscriptions ending up to {}", expired, cutoff);
+        }
+        return expired;
+    }
+
+    private long drain(OffsetDateTime cutoff) {
+        long total = 0;
+        int claimed;
+        while ((claimed = subscriptionService.expireSubscriptions(cutoff, properties.getChunkSize())) > 0) {
+            total += claimed;
+            expiredCounter.increment(claimed);
+        }
+        return total;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,144 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.dto.TopSubscriptionDto;
+import com.subscriptionservice.model.ServiceSubscriptionCount;
+import com.subscriptionservice.repository.ServiceSubscriptionCountRepository;
+import com.subscriptionservice.repository.SubscriptionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-service subscription counters backing {@code /api/subscriptions/top}.
+ * <p>
+ * Counts are persisted in {@code service_subscription_counts} in the same transaction as the
+ * subscription write and mirrored in memory once that transaction commits, so reads never
+ * aggregate the subscriptions table. The in-memory copy is periodically reloaded from the
+ * summary table to pick up writes made by other nodes.
+ * <p>
+ * Every change bumps the counter's revision, and the in-memory copy only ever moves to a higher
+ * revision. A refresh that reads a count before a local commit is mirrored therefore cannot be
+ * undone or applied twice by that commit, whichever lands first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubscriptionLeaderboard {
+    private static final Comparator<TopSubscriptionDto> RANKING = Comparator
+            .comparing(TopSubscriptionDto::getSubscriptionCount, Comparator.reverseOrder())
+            .thenComparing(TopSubscriptionDto::getServiceName);
+
+    private final ServiceSubscriptionCountRepository countRepository;
+    private final SubscriptionRepository subscriptionRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, TopSubscriptionDto> entries = new HashMap<>();
+    private final Map<String, Long> revisions = new HashMap<>();
+    private final TreeSet<TopSubscriptionDto> ranking = new TreeSet<>(RANKING);
+
+    /**
+     * Adds {@code delta} to the counter of {@code serviceName} as part of the caller's transaction.
+     * The in-memory ranking is only updated after the transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjust(String serviceName, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        countRepository.upsertCount(serviceName, delta);
+        // The upsert holds the row lock until commit, so this is exactly the state the commit publishes.
+        ServiceSubscriptionCount updated = countRepository.findCurrent(serviceName).orElseThrow();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(updated);
+            }
+        });
+    }
+
+    /**
+     * Returns the {@code limit} most subscribed services, most popular first.
+     */
+    public List<TopSubscriptionDto> getTop(int limit) {
+        lock.readLock().lock();
+        try {
+            List<TopSubscriptionDto> top = new ArrayList<>(Math.min(limit, ranking.size()));
+            Iterator<TopSubscriptionDto> iterator = ranking.iterator();
+            while (top.size() < limit && iterator.hasNext()) {
+                TopSubscriptionDto entry = iterator.next();
+                top.add(new TopSubscriptionDto(entry.getServiceName(), entry.getSubscriptionCount()));
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the counters from the subscriptions table if it is empty. Nodes starting together may
+     * all see it empty; the first one to insert a service's counter wins and the others skip it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (countRepository.count() == 0) {
+            List<TopSubscriptionDto> counts = subscriptionRepository.findTopSubscriptions();
+            if (!counts.isEmpty()) {
+                log.info("Rebuilding service subscription counts for {} services", counts.size());
+                counts.forEach(count ->
+                        countRepository.insertCountIfAbsent(count.getServiceName(), count.getSubscriptionCount()));
+            }
+        }
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${subscriptions.leaderboard.refresh-interval}",
+            initialDelayString = "${subscriptions.leaderboard.refresh-interval}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        countRepository.findAll().forEach(this::apply);
+    }
+
+    /**
+     * Mirrors {@code count} unless a newer revision of the same counter is already mirrored.
+     */
+    void apply(ServiceSubscriptionCount count) {
+        String serviceName = count.getServiceName();
+        lock.writeLock().lock();
+        try {
+            if (count.getRevision() < revisions.getOrDefault(serviceName, Long.MIN_VALUE)) {
+                return;
+            }
+            revisions.put(serviceName, count.getRevision());
+            TopSubscriptionDto current = entries.remove(serviceName);
+            if (current != null) {
+                ranking.remove(current);
+            }
+            if (count.getSubscriptionCount() > 0) {
+                TopSubscriptionDto entry = new TopSubscriptionDto(serviceName, count.getSubscriptionCount());
+                entries.put(serviceName, entry);
+                ranking.add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
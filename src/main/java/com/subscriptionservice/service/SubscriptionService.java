@@ -1,35 +1,111 @@
 package com.subscriptionservice.service;
 
+import com.subscriptionservice.config.MetricsConfig;
+import com.subscriptionservice.dto.BulkSubscriptionResultDto;
 import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.SubscriptionSearchDto;
+import com.subscriptionservice.dto.TopSubscriptionDto;
+import com.subscriptionservice.exception.PreconditionFailedException;
 import com.subscriptionservice.exception.ResourceNotFoundException;
 import com.subscriptionservice.mapper.SubscriptionMapper;
+import com.subscriptionservice.model.ChangeEntityType;
+import com.subscriptionservice.model.ChangeType;
 import com.subscriptionservice.model.Subscription;
+import com.subscriptionservice.model.SubscriptionStatus;
 import com.subscriptionservice.model.User;
 import com.subscriptionservice.repository.SubscriptionRepository;
 import com.subscriptionservice.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_CALLS)
 public class SubscriptionService {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_TOP_SIZE = 10;
+    public static final int MAX_TOP_SIZE = 100;
+    public static final int MAX_BULK_SIZE = 5000;
+
+    private static final int BULK_FLUSH_SIZE = 500;
+
     private final SubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
+    private final UserService userService;
     private final SubscriptionMapper subscriptionMapper;
+    private final SubscriptionLeaderboard subscriptionLeaderboard;
+    private final ChangeOutbox changeOutbox;
+    private final EntityManager entityManager;
+    private final Validator validator;
 
+    /**
+     * Returns the next page of subscriptions ordered by id, starting strictly after {@code afterId}.
+     * The id of the last element is the cursor for the following page.
+     */
     @Transactional(readOnly = true)
-    public List<SubscriptionDto> getAllSubscriptions() {
-        return subscriptionRepository.findAll().stream()
-                .map(subscriptionMapper::toDto)
-                .collect(Collectors.toList());
+    public List<SubscriptionDto> getSubscriptionsPage(long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return subscriptionRepository.findDtosByIdGreaterThan(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Returns the next page of subscriptions matching {@code search}, ordered by id and starting
+     * strictly after {@code afterId}. A subscription matches the date range if its period overlaps it.
+     */
+    @Transactional(readOnly = true)
+    public List<SubscriptionDto> searchSubscriptions(SubscriptionSearchDto search, long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (search.getMinPrice() != null && search.getMaxPrice() != null
+                && search.getMinPrice().compareTo(search.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        if (search.getFrom() != null && search.getTo() != null && search.getFrom().isAfter(search.getTo())) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return subscriptionRepository.searchDtos(search, afterId, limit);
     }
 
+    /**
+     * Feeds every subscription with an id greater than {@code afterId} to {@code sink} in id order
+     * while the rows are being fetched. Rows are projected straight into DTOs, so nothing accumulates
+     * in the persistence context however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void streamSubscriptions(long afterId, Consumer<SubscriptionDto> sink) {
+        try (Stream<SubscriptionDto> subscriptions = subscriptionRepository.streamDtosByIdGreaterThan(afterId)) {
+            subscriptions.forEach(sink);
+        }
+    }
+
+    /**
+     * Loads the entity rather than a projection so repeated reads are served from the second-level
+     * cache. The user id is taken from the uninitialized association, so no user row is loaded.
+     */
     @Transactional(readOnly = true)
     public SubscriptionDto getSubscriptionById(Long id) {
         return subscriptionRepository.findById(id)
@@ -37,48 +113,175 @@ public class SubscriptionService {
                 .orElseThrow(() -> new EntityNotFoundException("Subscription not found with id: " + id));
     }
 
+    /**
+     * Looks up many subscriptions at once; see {@link BatchGet}.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, SubscriptionDto> getSubscriptionsByIds(List<Long> ids) {
+        return BatchGet.load(entityManager, Subscription.class, ids, subscriptionMapper::toDto);
+    }
+
     @Transactional
     public Long createSubscription(SubscriptionDto subscriptionDto) {
-        User user = userRepository.findById(subscriptionDto.getUserId())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + subscriptionDto.getUserId()));
+        User user = getUserReference(subscriptionDto.getUserId());
         
         Subscription subscription = subscriptionMapper.toEntity(subscriptionDto, user);
-        return subscriptionRepository.save(subscription).getId();
+        Long id = subscriptionRepository.save(subscription).getId();
+        subscriptionLeaderboard.adjust(subscription.getServiceName(), 1);
+        changeOutbox.record(ChangeEntityType.SUBSCRIPTION, id, ChangeType.CREATED);
+        return id;
+    }
+
+    /**
+     * Creates all valid subscriptions in one transaction and reports the outcome of every item by
+     * its position in the request. Referenced users are resolved with a single IN query and rows are
+     * written through JDBC batches; items that fail validation or reference an unknown user are
+     * reported as failed without affecting the rest.
+     */
+    @Transactional
+    public List<BulkSubscriptionResultDto> createSubscriptions(List<SubscriptionDto> subscriptionDtos) {
+        if (subscriptionDtos.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " subscriptions can be created at once");
+        }
+        BulkSubscriptionResultDto[] results = new BulkSubscriptionResultDto[subscriptionDtos.size()];
+        List<Integer> validIndexes = new ArrayList<>(subscriptionDtos.size());
+        for (int i = 0; i < subscriptionDtos.size(); i++) {
+            SubscriptionDto dto = subscriptionDtos.get(i);
+            String error = dto == null ? "Subscription is required" : validate(dto);
+            if (error != null) {
+                results[i] = BulkSubscriptionResultDto.failed(i, error);
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        Set<Long> existingUserIds = validIndexes.isEmpty() ? Set.of() : userRepository.findExistingIds(
+                validIndexes.stream().map(i -> subscriptionDtos.get(i).getUserId()).collect(Collectors.toSet()));
+
+        Map<String, Long> createdPerService = new HashMap<>();
+        List<Subscription> chunk = new ArrayList<>(BULK_FLUSH_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(BULK_FLUSH_SIZE);
+        for (Integer index : validIndexes) {
+            SubscriptionDto dto = subscriptionDtos.get(index);
+            if (!existingUserIds.contains(dto.getUserId())) {
+                results[index] = BulkSubscriptionResultDto.failed(index, "User not found with id: " + dto.getUserId());
+                continue;
+            }
+            chunk.add(subscriptionMapper.toEntity(dto, userRepository.getReferenceById(dto.getUserId())));
+            chunkIndexes.add(index);
+            createdPerService.merge(dto.getServiceName(), 1L, Long::sum);
+            if (chunk.size() == BULK_FLUSH_SIZE) {
+                persistChunk(chunk, chunkIndexes, results);
+                chunk = new ArrayList<>(BULK_FLUSH_SIZE);
+                chunkIndexes = new ArrayList<>(BULK_FLUSH_SIZE);
+            }
+        }
+        persistChunk(chunk, chunkIndexes, results);
+
+        createdPerService.forEach(subscriptionLeaderboard::adjust);
+        return Arrays.asList(results);
     }
 
+    /**
+     * Applies the update only if the subscription is still at {@code expectedVersion}; {@code null}
+     * skips the check. A concurrent update committed after the check is still caught by the version
+     * column when the change is flushed, so a stale write never overwrites a newer one.
+     */
     @Transactional
-    public SubscriptionDto updateSubscription(Long id, SubscriptionDto subscriptionDto) {
+    public SubscriptionDto updateSubscription(Long id, SubscriptionDto subscriptionDto, Long expectedVersion) {
         Subscription existingSubscription = subscriptionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Subscription not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(existingSubscription.getVersion())) {
+            throw new PreconditionFailedException("Subscription " + id + " has been modified since version " + expectedVersion);
+        }
         
-        User user = userRepository.findById(subscriptionDto.getUserId())
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + subscriptionDto.getUserId()));
+        User user = getUserReference(subscriptionDto.getUserId());
         
+        String previousServiceName = existingSubscription.getServiceName();
+        Long previousVersion = existingSubscription.getVersion();
         subscriptionMapper.updateEntityFromDto(subscriptionDto, existingSubscription, user);
-        Subscription savedSubscription = subscriptionRepository.save(existingSubscription);
+        Subscription savedSubscription = subscriptionRepository.saveAndFlush(existingSubscription);
+        if (!Objects.equals(previousVersion, savedSubscription.getVersion())) {
+            changeOutbox.record(ChangeEntityType.SUBSCRIPTION, id, ChangeType.UPDATED);
+        }
+        if (!previousServiceName.equals(savedSubscription.getServiceName())) {
+            subscriptionLeaderboard.adjust(previousServiceName, -1);
+            subscriptionLeaderboard.adjust(savedSubscription.getServiceName(), 1);
+        }
         return subscriptionMapper.toDto(savedSubscription);
     }
 
     @Transactional
     public void deleteSubscription(Long id) {
-        if (!subscriptionRepository.existsById(id)) {
-            throw new EntityNotFoundException("Subscription not found with id: " + id);
+        Subscription subscription = subscriptionRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Subscription not found with id: " + id));
+        subscriptionRepository.delete(subscription);
+        subscriptionLeaderboard.adjust(subscription.getServiceName(), -1);
+        changeOutbox.record(ChangeEntityType.SUBSCRIPTION, id, ChangeType.DELETED);
+    }
+
+    /**
+     * Marks up to {@code limit} active subscriptions that ended no later than {@code cutoff} as expired
+     * and returns how many were claimed. Claimed rows stay locked until the transaction commits, so
+     * parallel callers never process the same subscription.
+     */
+    @Transactional
+    public int expireSubscriptions(OffsetDateTime cutoff, int limit) {
+        List<Long> ids = subscriptionRepository.lockExpiredIds(cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
         }
-        subscriptionRepository.deleteById(id);
+        subscriptionRepository.updateStatus(ids, SubscriptionStatus.EXPIRED);
+        changeOutbox.recordAll(ChangeEntityType.SUBSCRIPTION, ids, ChangeType.UPDATED);
+        return ids.size();
     }
 
-    @Transactional(readOnly = true)
-    public List<SubscriptionDto> getSubscriptionsByUserId(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new EntityNotFoundException("User not found with id: " + userId);
+    /**
+     * Checks that the user exists through the cached {@link UserService#getUser} lookup and returns
+     * an uninitialized reference, so attaching a subscription to a hot user costs no query.
+     */
+    private User getUserReference(Long userId) {
+        userService.getUser(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    private String validate(SubscriptionDto dto) {
+        Set<ConstraintViolation<SubscriptionDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
         }
-        return subscriptionRepository.findByUserId(userId).stream()
-                .map(subscriptionMapper::toDto)
-                .collect(Collectors.toList());
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void persistChunk(List<Subscription> chunk, List<Integer> chunkIndexes,
+                              BulkSubscriptionResultDto[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        subscriptionRepository.saveAll(chunk);
+        changeOutbox.recordAll(ChangeEntityType.SUBSCRIPTION,
+                chunk.stream().map(Subscription::getId).toList(), ChangeType.CREATED);
+        entityManager.flush();
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = chunkIndexes.get(i);
+            results[index] = BulkSubscriptionResultDto.created(index, chunk.get(i).getId());
+        }
+        entityManager.clear();
     }
 
     @Transactional(readOnly = true)
-    public List<Object[]> getTopSubscriptions() {
-        return subscriptionRepository.findTopSubscriptions();
+    public List<SubscriptionDto> getSubscriptionsByUserId(Long userId) {
+        userService.getUser(userId);
+        return subscriptionRepository.findDtosByUserId(userId);
+    }
+
+    public List<TopSubscriptionDto> getTopSubscriptions(int limit) {
+        if (limit < 1 || limit > MAX_TOP_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_TOP_SIZE);
+        }
+        return subscriptionLeaderboard.getTop(limit);
     }
 } 
\ No newline at end of file
@@ -1,72 +1,135 @@
 package com.subscriptionservice.service;
 
+import com.subscriptionservice.config.CacheConfig;
+import com.subscriptionservice.config.MetricsConfig;
 import com.subscriptionservice.dto.UserDto;
 import com.subscriptionservice.dto.UserUpdateDto;
+import com.subscriptionservice.exception.PreconditionFailedException;
 import com.subscriptionservice.mapper.UserMapper;
+import com.subscriptionservice.model.ChangeEntityType;
+import com.subscriptionservice.model.ChangeType;
 import com.subscriptionservice.model.User;
+import com.subscriptionservice.repository.SearchPatterns;
+import com.subscriptionservice.repository.SubscriptionRepository;
 import com.subscriptionservice.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_CALLS)
 public class UserService {
+    public static final int MIN_SEARCH_LENGTH = 3;
+
     private final UserRepository userRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionLeaderboard subscriptionLeaderboard;
+    private final ChangeOutbox changeOutbox;
     private final UserMapper userMapper;
+    private final EntityManager entityManager;
 
+    /**
+     * Email and phone uniqueness is enforced by the database constraints alone; a conflicting insert
+     * fails with a {@link org.springframework.dao.DataIntegrityViolationException} that is reported
+     * as 409 Conflict.
+     */
     @Transactional
     public Long createUser(UserDto userDto) {
-        checkUserDuplicate(userDto);
         User user = userMapper.toEntity(userDto);
-        return userRepository.save(user).getId();
+        Long id = userRepository.saveAndFlush(user).getId();
+        changeOutbox.record(ChangeEntityType.USER, id, ChangeType.CREATED);
+        return id;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Reads from the primary even when read replicas are configured, so the cache never holds a
+     * version a lagging replica returned; the cache keeps repeated lookups off the primary.
+     */
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     public UserDto getUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
         return userMapper.toDto(user);
     }
 
+    /**
+     * Returns the next page of users whose first, middle or last name, email or phone contain
+     * {@code query}, ignoring case, ordered by id and starting strictly after {@code afterId}. Queries
+     * shorter than {@value #MIN_SEARCH_LENGTH} characters are rejected: they would match most users
+     * and are too short for the trigram index.
+     */
+    @Transactional(readOnly = true)
+    public List<UserDto> searchUsers(String query, long afterId, int limit) {
+        if (limit < 1 || limit > SubscriptionService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + SubscriptionService.MAX_PAGE_SIZE);
+        }
+        String text = query.strip();
+        if (text.length() < MIN_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("Search query must have at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        return userRepository.search(SearchPatterns.contains(text), afterId, limit).stream()
+                .map(userMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Looks up many users at once; see {@link BatchGet}.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, UserDto> getUsersByIds(List<Long> ids) {
+        return BatchGet.load(entityManager, User.class, ids, userMapper::toDto);
+    }
+
+    /**
+     * Applies the update only if the user is still at {@code expectedVersion}; {@code null} skips the
+     * check.
+     */
     @Transactional
-    public UserDto updateUser(Long id, UserUpdateDto updateDto) {
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    public UserDto updateUser(Long id, UserUpdateDto updateDto, Long expectedVersion) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User " + id + " has been modified since version " + expectedVersion);
+        }
 
-        checkUserUpdateDto(updateDto, user);
+        Long previousVersion = user.getVersion();
         userMapper.updateEntityFromDto(updateDto, user);
 
-        User updatedUser = userRepository.save(user);
+        User updatedUser = userRepository.saveAndFlush(user);
+        if (!Objects.equals(previousVersion, updatedUser.getVersion())) {
+            changeOutbox.record(ChangeEntityType.USER, id, ChangeType.UPDATED);
+        }
         return userMapper.toDto(updatedUser);
     }
 
+    /**
+     * Deletes the user and all of their subscriptions with bulk statements, so the cost does not grow
+     * with the number of subscriptions and no entity is loaded. Only the subscription ids are read,
+     * to record a change event for each. If the user does not exist, the transaction is rolled back.
+     */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
+        subscriptionRepository.countByServiceNameForUser(id).forEach(count ->
+                subscriptionLeaderboard.adjust(count.getServiceName(), -count.getSubscriptionCount()));
+        changeOutbox.recordAll(ChangeEntityType.SUBSCRIPTION, subscriptionRepository.findIdsByUserId(id),
+                ChangeType.DELETED);
+        subscriptionRepository.deleteAllByUserId(id);
+        if (userRepository.deleteUserById(id) == 0) {
             throw new EntityNotFoundException("User not found with id: " + id);
         }
-        userRepository.deleteById(id);
-    }
-
-    private void checkUserDuplicate(UserDto userDto) {
-        if (userRepository.existsByEmail(userDto.getEmail())) {
-            throw new IllegalArgumentException("User with this email already exists");
-        }
-        if (userRepository.existsByPhone(userDto.getPhone())) {
-            throw new IllegalArgumentException("User with this phone number already exists");
-        }
-    }
-
-    private void checkUserUpdateDto(UserUpdateDto updateDto, User user) {
-        if (updateDto.getEmail() != null && !user.getEmail().equals(updateDto.getEmail()) 
-                && userRepository.existsByEmail(updateDto.getEmail())) {
-            throw new IllegalArgumentException("User with this email already exists");
-        }
-        if (updateDto.getPhone() != null && !user.getPhone().equals(updateDto.getPhone()) 
-                && userRepository.existsByPhone(updateDto.getPhone())) {
-            throw new IllegalArgumentException("User with this phone number already exists");
-        }
+        changeOutbox.record(ChangeEntityType.USER, id, ChangeType.DELETED);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,2 @@
+-- Bumped by every counter upsert, so nodes can tell which of two copies of a count is newer.
+ALTER TABLE service_subscription_counts ADD COLUMN revision BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,16 @@
+-- The change feed is served from the outbox. Instead of deleting relayed events, the relay gives
+-- each one the next offset and they are purged once older than the retention window. Offsets come
+-- from the single change_log_head row, whose lock is held until the relay commits, so offsets
+-- become visible in order and the log has no gaps.
+ALTER TABLE change_outbox ADD COLUMN log_offset BIGINT;
+
+CREATE UNIQUE INDEX ux_change_outbox_log_offset ON change_outbox (log_offset);
+
+CREATE INDEX ix_change_outbox_occurred_at ON change_outbox (occurred_at);
+
+CREATE TABLE change_log_head (
+    id            INT PRIMARY KEY,
+    latest_offset BIGINT NOT NULL
+);
+
+INSERT INTO change_log_head (id, latest_offset) VALUES (1, 0);
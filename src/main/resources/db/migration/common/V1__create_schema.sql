@@ -0,0 +1,28 @@
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name  VARCHAR(255) NOT NULL,
+    middle_name VARCHAR(255),
+    last_name   VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    phone       VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_phone UNIQUE (phone)
+);
+
+CREATE SEQUENCE subscriptions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE subscriptions (
+    id           BIGINT PRIMARY KEY,
+    service_name VARCHAR(255) NOT NULL,
+    plan         VARCHAR(255) NOT NULL,
+    price        DOUBLE PRECISION NOT NULL,
+    start_date   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    end_date     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    user_id      BIGINT NOT NULL,
+    CONSTRAINT fk_subscriptions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE service_subscription_counts (
+    service_name       VARCHAR(255) PRIMARY KEY,
+    subscription_count BIGINT NOT NULL
+);
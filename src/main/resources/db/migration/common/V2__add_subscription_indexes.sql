@@ -0,0 +1,9 @@
+-- Per-user listing: filters on user_id and orders by id; also serves the foreign key on user delete.
+CREATE INDEX IF NOT EXISTS idx_subscriptions_user_id ON subscriptions (user_id, id);
+
+-- Covers SELECT service_name, COUNT(id) ... GROUP BY service_name without touching the table,
+-- and any lookup by service_name.
+CREATE INDEX IF NOT EXISTS idx_subscriptions_service_name_id ON subscriptions (service_name, id);
+
+-- Range scans over upcoming and past expirations.
+CREATE INDEX IF NOT EXISTS idx_subscriptions_end_date ON subscriptions (end_date);
@@ -0,0 +1,12 @@
+ALTER TABLE subscriptions ADD COLUMN status VARCHAR(16) DEFAULT 'ACTIVE' NOT NULL;
+
+-- Expiry scan: active rows in end date order. Expired rows sit under a different prefix, so the
+-- scan never walks past work that is already done.
+CREATE INDEX idx_subscriptions_status_end_date ON subscriptions (status, end_date, id);
+
+CREATE TABLE job_checkpoints (
+    job_name VARCHAR(64) PRIMARY KEY,
+    processed_until TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO job_checkpoints (job_name, processed_until) VALUES ('subscription-expiry', TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00');
@@ -0,0 +1,2 @@
+-- Money is exact from here on; existing double values are rounded to cents.
+ALTER TABLE subscriptions ALTER COLUMN price SET DATA TYPE NUMERIC(12, 2);
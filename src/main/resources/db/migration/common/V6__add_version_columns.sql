@@ -0,0 +1,3 @@
+-- Optimistic locking: every update bumps the row version, which is also served as the ETag.
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE subscriptions ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,11 @@
+-- Change events written in the same transaction as the change itself. The relay publishes them in
+-- id order and deletes them, so the table only holds events that have not been delivered yet.
+CREATE SEQUENCE change_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE change_outbox (
+    id          BIGINT PRIMARY KEY,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id   BIGINT NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
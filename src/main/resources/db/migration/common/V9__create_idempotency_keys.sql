@@ -0,0 +1,11 @@
+-- Responses of requests sent with an Idempotency-Key, used when idempotency.store=database.
+-- Rows without a status code belong to requests still in progress; expires_at is their lease.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(300) PRIMARY KEY,
+    fingerprint     VARCHAR(64) NOT NULL,
+    status_code     INTEGER,
+    response_body   VARCHAR(4000),
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,38 @@
+-- Databases created by ddl-auto=update are baselined at version 1, so V1 never ran on them. Bring
+-- them to the V1 schema here; on databases created by V1 every statement is a no-op.
+
+CREATE SEQUENCE IF NOT EXISTS subscriptions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS service_subscription_counts (
+    service_name       VARCHAR(255) PRIMARY KEY,
+    subscription_count BIGINT NOT NULL
+);
+
+-- Hibernate generated random names for these constraints; the exception handler matches on V1's names.
+DO $$
+DECLARE
+    target RECORD;
+    current_name TEXT;
+BEGIN
+    FOR target IN
+        SELECT * FROM (VALUES
+            ('users', 'email', 'u', 'uk_users_email'),
+            ('users', 'phone', 'u', 'uk_users_phone'),
+            ('subscriptions', 'user_id', 'f', 'fk_subscriptions_user')
+        ) AS t (table_name, column_name, constraint_type, constraint_name)
+    LOOP
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = target.constraint_name) THEN
+            SELECT c.conname INTO current_name
+            FROM pg_constraint c
+            JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attname = target.column_name
+            WHERE c.conrelid = target.table_name::regclass
+              AND c.contype::text = target.constraint_type
+              AND c.conkey = ARRAY[a.attnum]
+            LIMIT 1;
+            IF current_name IS NOT NULL THEN
+                EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I',
+                        target.table_name, current_name, target.constraint_name);
+            END IF;
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,3 @@
+-- Databases created by ddl-auto=update before subscriptions moved to a pooled sequence still hold
+-- identity-generated ids. Move the sequence past them; Hibernate hands out the 50 ids below each value.
+SELECT setval('subscriptions_seq', (SELECT COALESCE(MAX(id), 0) FROM subscriptions) + 50);
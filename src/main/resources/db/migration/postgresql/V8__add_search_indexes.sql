@@ -0,0 +1,10 @@
+-- Trigram indexes for substring search. The expressions must match the search queries exactly:
+-- UserRepository.SEARCH_TEXT and lower(service_name) in SubscriptionSearchRepositoryImpl.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_search_trgm ON users USING gin (
+    (lower(first_name || ' ' || coalesce(middle_name, '') || ' ' || last_name || ' ' || email || ' ' || phone))
+    gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_subscriptions_service_name_trgm ON subscriptions USING gin (
+    lower(service_name) gin_trgm_ops);
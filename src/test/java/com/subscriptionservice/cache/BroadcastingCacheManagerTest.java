@@ -0,0 +1,64 @@
+package com.subscriptionservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastingCacheManagerTest {
+
+    private Cache nodeA;
+    private Cache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        CacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        nodeA = createNode(bus).getCache("users");
+        nodeB = createNode(bus).getCache("users");
+    }
+
+    @Test
+    void evict_ShouldRemoveEntryOnEveryNode() {
+        nodeA.put(1L, "a");
+        nodeA.put(2L, "b");
+        nodeB.put(1L, "a");
+        nodeB.put(2L, "b");
+
+        nodeA.evict(1L);
+
+        assertNull(nodeA.get(1L));
+        assertNull(nodeB.get(1L));
+        assertNotNull(nodeA.get(2L));
+        assertNotNull(nodeB.get(2L));
+    }
+
+    @Test
+    void put_ShouldStayLocal() {
+        nodeA.put(1L, "a");
+
+        assertNull(nodeB.get(1L));
+    }
+
+    @Test
+    void clear_ShouldEmptyCacheOnEveryNode() {
+        nodeA.put(1L, "a");
+        nodeB.put(2L, "b");
+
+        nodeB.clear();
+
+        assertNull(nodeA.get(1L));
+        assertNull(nodeB.get(2L));
+    }
+
+    private BroadcastingCacheManager createNode(CacheInvalidationBus bus) {
+        BroadcastingCacheManager cacheManager = new BroadcastingCacheManager(bus,
+                List.of(new CaffeineCache("users", Caffeine.newBuilder().maximumSize(10).build())));
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+}
@@ -0,0 +1,50 @@
+package com.subscriptionservice.changes;
+
+import com.subscriptionservice.dto.ChangeEventDto;
+import com.subscriptionservice.exception.ChangeFeedExpiredException;
+import com.subscriptionservice.model.ChangeEntityType;
+import com.subscriptionservice.model.ChangeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalChangeEventBrokerTest {
+
+    @Test
+    void read_ShouldReturnEventsAfterOffsetInPublishOrder() {
+        LocalChangeEventBroker broker = new LocalChangeEventBroker(10);
+        AtomicInteger notifications = new AtomicInteger();
+        broker.subscribe(notifications::incrementAndGet);
+
+        broker.publish(events(100, 101, 102));
+
+        List<ChangeEventDto> read = broker.read(1, 10);
+        assertEquals(List.of(2L, 3L), read.stream().map(ChangeEventDto::getOffset).toList());
+        assertEquals(List.of(101L, 102L), read.stream().map(ChangeEventDto::getEventId).toList());
+        assertEquals(1, broker.read(0, 1).size());
+        assertTrue(broker.read(3, 10).isEmpty());
+        assertEquals(3, broker.latestOffset());
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    void read_WithOffsetOutsideRetainedEvents_ShouldThrowExpired() {
+        LocalChangeEventBroker broker = new LocalChangeEventBroker(3);
+        broker.publish(events(LongStream.rangeClosed(1, 5).toArray()));
+
+        assertEquals(List.of(3L, 4L, 5L), broker.read(2, 10).stream().map(ChangeEventDto::getOffset).toList());
+        assertThrows(ChangeFeedExpiredException.class, () -> broker.read(1, 10));
+        assertThrows(ChangeFeedExpiredException.class, () -> broker.read(6, 10));
+    }
+
+    private static List<ChangeEvent> events(long... eventIds) {
+        return LongStream.of(eventIds)
+                .mapToObj(id -> new ChangeEvent(id, ChangeEntityType.SUBSCRIPTION, id, ChangeType.UPDATED, OffsetDateTime.now()))
+                .toList();
+    }
+}
@@ -0,0 +1,94 @@
+package com.subscriptionservice.controller;
+
+import com.subscriptionservice.model.Subscription;
+import com.subscriptionservice.model.User;
+import com.subscriptionservice.repository.SubscriptionRepository;
+import com.subscriptionservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AnalyticsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    private User testUser;
+    private OffsetDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setFirstName("analytics");
+        testUser.setLastName("analytics");
+        testUser.setEmail("analytics@example.com");
+        testUser.setPhone("+79282581111");
+        testUser = userRepository.save(testUser);
+
+        now = OffsetDateTime.now();
+        saveSubscription("Analytics Video", "monthly", "9.99", now.plusMonths(1));
+        saveSubscription("Analytics Video", "monthly", "5.01", now.plusMonths(2));
+        saveSubscription("Analytics Music", "family", "3.50", now.plusMonths(1));
+        saveSubscription("Analytics Music", "family", "100.00", now.minusDays(1));
+    }
+
+    @Test
+    void getMonthlyRevenue_ShouldSumActiveSubscriptionsPerServiceAndPlan() throws Exception {
+        mockMvc.perform(get("/api/analytics/revenue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.serviceName == 'Analytics Video' && @.plan == 'monthly')].activeSubscriptions").value(2))
+                .andExpect(jsonPath("$[?(@.serviceName == 'Analytics Video' && @.plan == 'monthly')].monthlyRevenue").value(15.0))
+                .andExpect(jsonPath("$[?(@.serviceName == 'Analytics Music' && @.plan == 'family')].monthlyRevenue").value(3.5));
+    }
+
+    @Test
+    void getSpendPerUser_ShouldReturnUsersAfterCursor() throws Exception {
+        mockMvc.perform(get("/api/analytics/spend")
+                        .param("after", String.valueOf(testUser.getId() - 1))
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].userId").value(testUser.getId()))
+                .andExpect(jsonPath("$[0].activeSubscriptions").value(3))
+                .andExpect(jsonPath("$[0].monthlySpend").value(18.5));
+    }
+
+    @Test
+    void getActiveSubscriptions_ShouldCountSubscriptionsRunningAtTimestamp() throws Exception {
+        mockMvc.perform(get("/api/analytics/active").param("at", now.plusDays(45).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeSubscriptions").value(1));
+    }
+
+    private void saveSubscription(String serviceName, String plan, String price, OffsetDateTime endDate) {
+        Subscription subscription = new Subscription();
+        subscription.setServiceName(serviceName);
+        subscription.setPlan(plan);
+        subscription.setPrice(new BigDecimal(price));
+        subscription.setStartDate(now.minusMonths(1));
+        subscription.setEndDate(endDate);
+        subscription.setUser(testUser);
+        subscriptionRepository.save(subscription);
+    }
+}
@@ -0,0 +1,137 @@
+package com.subscriptionservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionservice.dto.UserDto;
+import com.subscriptionservice.repository.UserRepository;
+import com.subscriptionservice.service.ChangeOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Writes are committed because the outbox is only relayed after commit. The relay is disabled in
+ * the test profile and driven by the tests instead, which also purge the log themselves.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeFeedControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @AfterEach
+    void tearDown() {
+        if (userId != null && userRepository.existsById(userId)) {
+            userRepository.deleteById(userId);
+        }
+        relayAll();
+    }
+
+    @Test
+    void getChanges_ShouldWaitForAndReturnCommittedChanges() throws Exception {
+        relayAll();
+        long offset = changes(mockMvc.perform(get("/api/changes")).andReturn()).get("nextOffset").asLong();
+
+        MvcResult poll = mockMvc.perform(get("/api/changes").param("since", String.valueOf(offset)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        createUser();
+        relayAll();
+
+        JsonNode created = changes(poll);
+        assertEquals(offset + 1, created.get("nextOffset").asLong());
+        assertEquals("USER", created.at("/changes/0/entityType").asText());
+        assertEquals(userId, created.at("/changes/0/entityId").asLong());
+        assertEquals("CREATED", created.at("/changes/0/changeType").asText());
+
+        mockMvc.perform(delete("/users/{id}", userId)).andExpect(status().isOk());
+        relayAll();
+
+        MvcResult next = mockMvc.perform(get("/api/changes").param("since", String.valueOf(offset + 1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        JsonNode deleted = changes(next);
+        assertEquals(offset + 2, deleted.get("nextOffset").asLong());
+        assertEquals("DELETED", deleted.at("/changes/0/changeType").asText());
+    }
+
+    @Test
+    void getChanges_WithOffsetAheadOfLog_ShouldReturnGone() throws Exception {
+        MvcResult poll = mockMvc.perform(get("/api/changes").param("since", String.valueOf(Long.MAX_VALUE)))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void getChanges_WithOffsetPurgedFromLog_ShouldReturnGone() throws Exception {
+        createUser();
+        relayAll();
+        long offset = changes(mockMvc.perform(get("/api/changes")).andReturn()).get("nextOffset").asLong();
+
+        changeOutbox.purge(OffsetDateTime.now().plusMinutes(1));
+
+        MvcResult poll = mockMvc.perform(get("/api/changes").param("since", String.valueOf(offset - 1)))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void getChanges_WithLimitAboveMax_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/changes").param("since", "0").param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode changes(MvcResult poll) throws Exception {
+        String body = mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void createUser() throws Exception {
+        UserDto userDto = new UserDto();
+        userDto.setFirstName("feed");
+        userDto.setLastName("feed");
+        userDto.setEmail("feed@example.com");
+        userDto.setPhone("+79282587777");
+        userId = objectMapper.readValue(mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andReturn().getResponse().getContentAsString(), Long.class);
+    }
+
+    private void relayAll() {
+        while (changeOutbox.relay(500) > 0) {
+            // keep draining
+        }
+    }
+}
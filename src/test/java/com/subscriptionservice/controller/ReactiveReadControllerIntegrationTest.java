@@ -0,0 +1,140 @@
+package com.subscriptionservice.controller;
+
+import com.subscriptionservice.model.Subscription;
+import com.subscriptionservice.model.User;
+import com.subscriptionservice.repository.SubscriptionRepository;
+import com.subscriptionservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Data is committed rather than rolled back because the reactive endpoints read over their own
+ * R2DBC connections, which cannot see the test transaction.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveReadControllerIntegrationTest {
+    private static final int SUBSCRIPTIONS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    private User user;
+    private List<Subscription> subscriptions;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("reactive");
+        user.setLastName("reactive");
+        user.setEmail("reactive@example.com");
+        user.setPhone("+79282581111");
+        user = userRepository.save(user);
+
+        subscriptions = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setServiceName("Reactive Service " + i);
+            subscription.setPlan("monthly");
+            subscription.setPrice(new BigDecimal("9.99"));
+            subscription.setStartDate(OffsetDateTime.now());
+            subscription.setEndDate(OffsetDateTime.now().plusMonths(1));
+            subscription.setUser(user);
+            subscriptions.add(subscription);
+        }
+        subscriptions = subscriptionRepository.saveAll(subscriptions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriptionRepository.deleteAllInBatch(subscriptions);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void getSubscriptionById_ShouldReturnSubscriptionWithETag() throws Exception {
+        Subscription subscription = subscriptions.get(0);
+
+        mockMvc.perform(async(get("/reactive/api/subscriptions/{id}", subscription.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.serviceName").value(subscription.getServiceName()))
+                .andExpect(jsonPath("$.price").value(9.99))
+                .andExpect(jsonPath("$.userId").value(user.getId()))
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+    }
+
+    @Test
+    void getSubscriptionById_WithNonExistentId_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(async(get("/reactive/api/subscriptions/{id}", Long.MAX_VALUE)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllSubscriptions_ShouldReturnPageAfterCursor() throws Exception {
+        mockMvc.perform(async(get("/reactive/api/subscriptions")
+                        .param("after", String.valueOf(subscriptions.get(0).getId()))
+                        .param("limit", "1")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(subscriptions.get(1).getId()));
+    }
+
+    @Test
+    void getSubscriptionsByUserId_AsNdjson_ShouldStreamOneLinePerSubscription() throws Exception {
+        MvcResult result = mockMvc.perform(async(get("/reactive/api/subscriptions/user/{userId}", user.getId())
+                        .accept(MediaType.APPLICATION_NDJSON)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(SUBSCRIPTIONS, result.getResponse().getContentAsString().lines().count());
+    }
+
+    @Test
+    void getSubscriptionsByUserId_WithNonExistentUser_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(async(get("/reactive/api/subscriptions/user/{userId}", Long.MAX_VALUE)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUser_ShouldReturnUser() throws Exception {
+        mockMvc.perform(async(get("/reactive/users/{id}", user.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(user.getEmail()));
+    }
+
+    private RequestBuilder async(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return asyncDispatch(result);
+    }
+}
@@ -1,24 +1,34 @@
 package com.subscriptionservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.subscriptionservice.config.BinaryFormatsConfig;
 import com.subscriptionservice.dto.SubscriptionDto;
 import com.subscriptionservice.model.Subscription;
 import com.subscriptionservice.model.User;
+import com.subscriptionservice.repository.ServiceSubscriptionCountRepository;
 import com.subscriptionservice.repository.SubscriptionRepository;
 import com.subscriptionservice.repository.UserRepository;
+import com.subscriptionservice.service.BatchGet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
 
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,6 +50,9 @@ class SubscriptionControllerIntegrationTest {
     @Autowired
     private SubscriptionRepository subscriptionRepository;
 
+    @Autowired
+    private ServiceSubscriptionCountRepository serviceSubscriptionCountRepository;
+
     private User testUser;
     private SubscriptionDto testSubscriptionDto;
 
@@ -70,6 +83,123 @@ class SubscriptionControllerIntegrationTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void createSubscription_WithRepeatedIdempotencyKey_ShouldCreateOnce() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/subscriptions")
+                    .header("Idempotency-Key", "create-subscription")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(testSubscriptionDto)))
+                    .andExpect(status().isCreated());
+        }
+
+        assertEquals(1, subscriptionRepository.findIdsByUserId(testUser.getId()).size());
+    }
+
+    @Test
+    void createSubscription_WithSubCentPrice_ShouldReturnBadRequest() throws Exception {
+        testSubscriptionDto.setPrice(new BigDecimal("9.999"));
+
+        mockMvc.perform(post("/api/subscriptions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testSubscriptionDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.price").exists());
+    }
+
+    @Test
+    void createSubscription_ShouldIncrementServiceCount() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/subscriptions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(testSubscriptionDto)))
+                    .andExpect(status().isCreated());
+        }
+
+        assertEquals(2L, serviceSubscriptionCountRepository.findById(testSubscriptionDto.getServiceName())
+                .orElseThrow()
+                .getSubscriptionCount());
+    }
+
+    @Test
+    void getAllSubscriptions_ShouldReturnPageAfterCursor() throws Exception {
+        Long firstId = null;
+        for (int i = 0; i < 3; i++) {
+            Subscription subscription = objectMapper.convertValue(testSubscriptionDto, Subscription.class);
+            subscription.setUser(testUser);
+            Long id = subscriptionRepository.save(subscription).getId();
+            if (firstId == null) {
+                firstId = id;
+            }
+        }
+
+        mockMvc.perform(get("/api/subscriptions")
+                .param("after", firstId.toString())
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(firstId + 1));
+    }
+
+    @Test
+    void getAllSubscriptions_WithLimitAboveMax_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/subscriptions").param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchSubscriptions_ShouldReturnSubscriptionsMatchingEveryFilter() throws Exception {
+        OffsetDateTime now = OffsetDateTime.now();
+        Long match = saveSubscription("Searchflix Premium", "monthly", "15.00", now, now.plusMonths(1));
+        saveSubscription("Searchflix Premium", "monthly", "15.00", now.plusMonths(2), now.plusMonths(3));
+        saveSubscription("Searchflix Basic", "yearly", "15.00", now, now.plusMonths(1));
+        saveSubscription("Searchflix Family", "monthly", "25.00", now, now.plusMonths(1));
+        saveSubscription("Other Service", "monthly", "15.00", now, now.plusMonths(1));
+
+        mockMvc.perform(get("/api/subscriptions/search")
+                .param("serviceName", "SEARCHFLIX")
+                .param("plan", "Monthly")
+                .param("maxPrice", "20")
+                .param("from", now.plusDays(1).toString())
+                .param("to", now.plusDays(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(match));
+    }
+
+    @Test
+    void searchSubscriptions_ShouldTreatWildcardsLiterally() throws Exception {
+        OffsetDateTime now = OffsetDateTime.now();
+        saveSubscription("Searchflix Premium", "monthly", "15.00", now, now.plusMonths(1));
+
+        mockMvc.perform(get("/api/subscriptions/search").param("serviceName", "Search%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void searchSubscriptions_WithInvertedPriceRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/subscriptions/search").param("minPrice", "10").param("maxPrice", "5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createSubscriptions_ShouldReturnResultPerItem() throws Exception {
+        SubscriptionDto unknownUser = objectMapper.convertValue(testSubscriptionDto, SubscriptionDto.class);
+        unknownUser.setUserId(testUser.getId() + 1000);
+
+        mockMvc.perform(post("/api/subscriptions/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testSubscriptionDto, unknownUser))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].index").value(1));
+
+        assertEquals(1, subscriptionRepository.findByUserId(testUser.getId()).size());
+    }
+
     @Test
     void getSubscriptionById_ShouldReturnSubscription() throws Exception {
         Subscription subscription = objectMapper.convertValue(testSubscriptionDto, Subscription.class);
@@ -79,7 +209,47 @@ class SubscriptionControllerIntegrationTest {
         mockMvc.perform(get("/api/subscriptions/{id}", subscriptionId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.serviceName").value(testSubscriptionDto.getServiceName()))
-                .andExpect(jsonPath("$.price").value(testSubscriptionDto.getPrice()));
+                .andExpect(jsonPath("$.price").value(testSubscriptionDto.getPrice()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+    }
+
+    @Test
+    void getSubscriptionById_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        Subscription subscription = objectMapper.convertValue(testSubscriptionDto, Subscription.class);
+        subscription.setUser(testUser);
+        Long subscriptionId = subscriptionRepository.save(subscription).getId();
+
+        mockMvc.perform(get("/api/subscriptions/{id}", subscriptionId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getSubscriptionsByIds_ShouldReturnFoundAndMissingInRequestOrder() throws Exception {
+        Subscription subscription = objectMapper.convertValue(testSubscriptionDto, Subscription.class);
+        subscription.setUser(testUser);
+        Long subscriptionId = subscriptionRepository.save(subscription).getId();
+        long missingId = subscriptionId + 1000;
+
+        mockMvc.perform(post("/api/subscriptions/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(missingId, subscriptionId, missingId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$['" + missingId + "']").value(nullValue()))
+                .andExpect(jsonPath("$['" + subscriptionId + "'].serviceName").value(testSubscriptionDto.getServiceName()));
+    }
+
+    @Test
+    void getSubscriptionsByIds_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, BatchGet.MAX_SIZE + 1).boxed().toList();
+
+        mockMvc.perform(post("/api/subscriptions/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -99,6 +269,45 @@ class SubscriptionControllerIntegrationTest {
                 .andExpect(jsonPath("$.price").value(19.99));
     }
 
+    @Test
+    void updateSubscription_WithCurrentIfMatch_ShouldReturnNewETag() throws Exception {
+        Subscription subscription = objectMapper.convertValue(testSubscriptionDto, Subscription.class);
+        subscription.setUser(testUser);
+        Long subscriptionId = subscriptionRepository.save(subscription).getId();
+
+        testSubscriptionDto.setPlan("yearly");
+
+        mockMvc.perform(put("/api/subscriptions/{id}", subscriptionId)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testSubscriptionDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void updateSubscription_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        Subscription subscription = objectMapper.convertValue(testSubscriptionDto, Subscription.class);
+        subscription.setUser(testUser);
+        Long subscriptionId = subscriptionRepository.save(subscription).getId();
+
+        testSubscriptionDto.setPlan("yearly");
+        mockMvc.perform(put("/api/subscriptions/{id}", subscriptionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testSubscriptionDto)))
+                .andExpect(status().isOk());
+
+        testSubscriptionDto.setPlan("lifetime");
+        mockMvc.perform(put("/api/subscriptions/{id}", subscriptionId)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testSubscriptionDto)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("yearly", subscriptionRepository.findById(subscriptionId).orElseThrow().getPlan());
+    }
+
     @Test
     void deleteSubscription_ShouldReturnNoContent() throws Exception {   
         Subscription subscription = objectMapper.convertValue(testSubscriptionDto, Subscription.class);
@@ -121,6 +330,46 @@ class SubscriptionControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].price").value(testSubscriptionDto.getPrice()));
     }
 
+    @Test
+    void getSubscriptionsByUserId_WithSmileAccept_ShouldReturnSmile() throws Exception {
+        Subscription subscription = objectMapper.convertValue(testSubscriptionDto, Subscription.class);
+        subscription.setUser(testUser);
+        subscriptionRepository.save(subscription);
+
+        byte[] body = mockMvc.perform(get("/api/subscriptions/user/{userId}", testUser.getId())
+                .accept(BinaryFormatsConfig.SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatsConfig.SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ObjectMapper smileMapper = BinaryFormatsConfig.binaryObjectMapper(
+                Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+        SubscriptionDto[] subscriptions = smileMapper.readValue(body, SubscriptionDto[].class);
+        assertEquals(1, subscriptions.length);
+        assertEquals(testSubscriptionDto.getServiceName(), subscriptions[0].getServiceName());
+        assertEquals(testSubscriptionDto.getEndDate().toInstant().toEpochMilli(),
+                subscriptions[0].getEndDate().toInstant().toEpochMilli());
+    }
+
+    @Test
+    void getSubscriptionById_WithSmileAccept_ShouldReturnNotAcceptable() throws Exception {
+        Subscription subscription = objectMapper.convertValue(testSubscriptionDto, Subscription.class);
+        subscription.setUser(testUser);
+        Long id = subscriptionRepository.save(subscription).getId();
+
+        mockMvc.perform(get("/api/subscriptions/{id}", id)
+                .accept(BinaryFormatsConfig.SMILE_VALUE))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void getSubscriptionsByUserId_WithAnyAccept_ShouldDefaultToJson() throws Exception {
+        mockMvc.perform(get("/api/subscriptions/user/{userId}", testUser.getId())
+                .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     void getTopSubscriptions_ShouldReturnTopSubscriptions() throws Exception {
         for (int i = 0; i < 3; i++) {
@@ -134,4 +383,16 @@ class SubscriptionControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
-} 
\ No newline at end of file
+
+    private Long saveSubscription(String serviceName, String plan, String price,
+                                  OffsetDateTime startDate, OffsetDateTime endDate) {
+        Subscription subscription = new Subscription();
+        subscription.setServiceName(serviceName);
+        subscription.setPlan(plan);
+        subscription.setPrice(new BigDecimal(price));
+        subscription.setStartDate(startDate);
+        subscription.setEndDate(endDate);
+        subscription.setUser(testUser);
+        return subscriptionRepository.save(subscription).getId();
+    }
+}
@@ -0,0 +1,234 @@
+package com.subscriptionservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionservice.dto.UserDto;
+import com.subscriptionservice.dto.UserUpdateDto;
+import com.subscriptionservice.model.Subscription;
+import com.subscriptionservice.model.User;
+import com.subscriptionservice.repository.SubscriptionRepository;
+import com.subscriptionservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class UserControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    private User existingUser;
+
+    @BeforeEach
+    void setUp() {
+        existingUser = new User();
+        existingUser.setFirstName("existing");
+        existingUser.setLastName("existing");
+        existingUser.setEmail("existing@example.com");
+        existingUser.setPhone("+79282589980");
+        existingUser = userRepository.save(existingUser);
+    }
+
+    @Test
+    void createUser_ShouldReturnId() throws Exception {
+        mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userDto("new@example.com", "+79282589981"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isNumber());
+    }
+
+    @Test
+    void createUser_WithRepeatedIdempotencyKey_ShouldReplayOriginalId() throws Exception {
+        long usersBefore = userRepository.count();
+        String body = objectMapper.writeValueAsString(userDto("new@example.com", "+79282589981"));
+        String id = mockMvc.perform(post("/users")
+                .header("Idempotency-Key", "create-new-user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/users")
+                .header("Idempotency-Key", "create-new-user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().string(id));
+
+        mockMvc.perform(post("/users")
+                .header("Idempotency-Key", "create-new-user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userDto("other@example.com", "+79282589982"))))
+                .andExpect(status().isUnprocessableEntity());
+        assertEquals(usersBefore + 1, userRepository.count());
+    }
+
+    @Test
+    void createUser_WithDuplicateEmail_ShouldReturnConflict() throws Exception {
+        mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userDto("existing@example.com", "+79282589981"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("User with this email already exists"));
+    }
+
+    @Test
+    void createUser_WithDuplicatePhone_ShouldReturnConflict() throws Exception {
+        mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userDto("new@example.com", "+79282589980"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("User with this phone number already exists"));
+    }
+
+    @Test
+    void updateUser_WithEmailOfAnotherUser_ShouldReturnConflict() throws Exception {
+        User other = new User();
+        other.setFirstName("other");
+        other.setLastName("other");
+        other.setEmail("other@example.com");
+        other.setPhone("+79282589982");
+        other = userRepository.save(other);
+
+        UserUpdateDto updateDto = new UserUpdateDto();
+        updateDto.setEmail(existingUser.getEmail());
+
+        mockMvc.perform(put("/users/{id}", other.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("User with this email already exists"));
+    }
+
+    @Test
+    void searchUsers_ShouldMatchAnyPartOfNameEmailOrPhone() throws Exception {
+        mockMvc.perform(get("/users/search").param("q", "EXIST"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == %d)]", existingUser.getId()).exists());
+
+        mockMvc.perform(get("/users/search").param("q", "9282589980"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(existingUser.getId()))
+                .andExpect(jsonPath("$[0].email").value("existing@example.com"));
+
+        mockMvc.perform(get("/users/search").param("q", "exist_ng"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void searchUsers_WithShortQuery_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/users/search").param("q", " ex "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUsersByIds_ShouldReturnFoundAndMissingInRequestOrder() throws Exception {
+        long missingId = existingUser.getId() + 1000;
+
+        mockMvc.perform(post("/users/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(existingUser.getId(), missingId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + existingUser.getId() + "'].email").value(existingUser.getEmail()))
+                .andExpect(jsonPath("$['" + missingId + "']").value(nullValue()));
+    }
+
+    @Test
+    void getUser_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/users/{id}", existingUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(get("/users/{id}", existingUser.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateUser_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        UserUpdateDto updateDto = new UserUpdateDto();
+        updateDto.setFirstName("renamed");
+
+        mockMvc.perform(put("/users/{id}", existingUser.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        updateDto.setFirstName("renamed again");
+        mockMvc.perform(put("/users/{id}", existingUser.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void deleteUser_ShouldDeleteUserAndSubscriptions() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setServiceName("Service " + i);
+            subscription.setPlan("monthly");
+            subscription.setPrice(new BigDecimal("9.99"));
+            subscription.setStartDate(OffsetDateTime.now());
+            subscription.setEndDate(OffsetDateTime.now().plusMonths(1));
+            subscription.setUser(existingUser);
+            subscriptionRepository.save(subscription);
+        }
+
+        mockMvc.perform(delete("/users/{id}", existingUser.getId()))
+                .andExpect(status().isOk());
+
+        assertFalse(userRepository.existsById(existingUser.getId()));
+        assertTrue(subscriptionRepository.findByUserId(existingUser.getId()).isEmpty());
+    }
+
+    @Test
+    void deleteUser_WithNonExistentId_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(delete("/users/{id}", existingUser.getId() + 1000))
+                .andExpect(status().isNotFound());
+    }
+
+    private static UserDto userDto(String email, String phone) {
+        UserDto userDto = new UserDto();
+        userDto.setFirstName("testuser");
+        userDto.setLastName("testuser");
+        userDto.setEmail(email);
+        userDto.setPhone(phone);
+        return userDto;
+    }
+}
@@ -0,0 +1,125 @@
+package com.subscriptionservice.datasource;
+
+import com.subscriptionservice.dto.UserDto;
+import com.subscriptionservice.model.User;
+import com.subscriptionservice.repository.UserRepository;
+import com.subscriptionservice.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.subscriptionservice.config.CacheConfig.USERS_CACHE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes read-only transactions to a separate in-memory H2 replica that has the schema but only the
+ * rows a test puts there, so what a read returns shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "read-replicas.enabled=true",
+        "read-replicas.targets[0].url=" + ReadReplicaIntegrationTest.REPLICA_URL,
+        "read-replicas.targets[0].username=sa",
+        "read-replicas.targets[0].password="
+})
+@ActiveProfiles("test")
+class ReadReplicaIntegrationTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private TransactionTemplate readOnlyTransaction;
+    private Long userId;
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        Flyway.configure()
+                .dataSource(replica.getDataSource())
+                .locations("classpath:db/migration/common")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        User user = new User();
+        user.setFirstName("primary");
+        user.setLastName("primary");
+        user.setEmail("replica-routing@example.com");
+        user.setPhone("+79282583333");
+        userId = userRepository.save(user).getId();
+        entityManagerFactory.getCache().evict(User.class, userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(userId);
+        replica.update("DELETE FROM users");
+        cacheManager.getCache(USERS_CACHE).evict(userId);
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldRunOnReplica() {
+        List<Long> ids = List.of(userId);
+
+        assertTrue(readOnlyTransaction.execute(status -> userRepository.findExistingIds(ids)).isEmpty());
+        assertEquals(ids, List.copyOf(new TransactionTemplate(transactionManager)
+                .execute(status -> userRepository.findExistingIds(ids))));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldNotPopulateSecondLevelCache() {
+        copyToReplica("lagging");
+
+        Optional<User> fromReplica = readOnlyTransaction.execute(status -> userRepository.findById(userId));
+
+        assertEquals("lagging", fromReplica.orElseThrow().getFirstName());
+        assertFalse(entityManagerFactory.getCache().contains(User.class, userId));
+    }
+
+    @Test
+    void getUser_ShouldReadAndCacheFromPrimary() {
+        copyToReplica("lagging");
+
+        UserDto user = userService.getUser(userId);
+
+        assertEquals("primary", user.getFirstName());
+        assertEquals("primary", cacheManager.getCache(USERS_CACHE).get(userId, UserDto.class).getFirstName());
+    }
+
+    private void copyToReplica(String firstName) {
+        replica.update("INSERT INTO users (id, first_name, last_name, email, phone, version) VALUES (?, ?, ?, ?, ?, 0)",
+                userId, firstName, "primary", "replica-routing@example.com", "+79282583333");
+    }
+}
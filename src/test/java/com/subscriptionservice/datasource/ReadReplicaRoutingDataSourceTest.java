@@ -0,0 +1,130 @@
+package com.subscriptionservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against separate in-memory H2 databases, each of which reports its own name.
+ */
+class ReadReplicaRoutingDataSourceTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyConnections_ShouldRotateThroughReplicas() throws SQLException {
+        route(ReplicaSelectionStrategy.ROUND_ROBIN, database("replica-1"), database("replica-2"));
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"),
+                List.of(target(true), target(true), target(true)));
+    }
+
+    @Test
+    void writeConnections_ShouldUsePrimary() throws SQLException {
+        route(ReplicaSelectionStrategy.ROUND_ROBIN, database("replica-1"));
+
+        assertEquals("primary", target(false));
+    }
+
+    @Test
+    void leastConnections_ShouldPreferIdleReplica() throws SQLException {
+        route(ReplicaSelectionStrategy.LEAST_CONNECTIONS, database("replica-1"), database("replica-2"));
+
+        try (Connection busy = routingDataSource.getConnection()) {
+            busy.setReadOnly(true);
+            String busyTarget = name(busy);
+
+            String other = busyTarget.equals("replica-1") ? "replica-2" : "replica-1";
+            assertEquals(List.of(other, other), List.of(target(true), target(true)));
+        }
+    }
+
+    @Test
+    void unavailableReplica_ShouldBeSkippedAndCounted() throws SQLException {
+        route(ReplicaSelectionStrategy.ROUND_ROBIN, unreachable("replica-1"), database("replica-2"));
+
+        assertEquals(List.of("replica-2", "replica-2", "replica-2"),
+                List.of(target(true), target(true), target(true)));
+        assertEquals(1, meterRegistry.get(ReplicaPool.FAILURES).tag("target", "replica-1").counter().count());
+        assertEquals(0, meterRegistry.get(ReplicaPool.FALLBACKS).counter().count());
+    }
+
+    @Test
+    void allReplicasUnavailable_ShouldFallBackToPrimary() throws SQLException {
+        route(ReplicaSelectionStrategy.ROUND_ROBIN, unreachable("replica-1"));
+
+        assertEquals("primary", target(true));
+        assertEquals(1, meterRegistry.get(ReplicaPool.FALLBACKS).counter().count());
+    }
+
+    private void route(ReplicaSelectionStrategy strategy, HikariDataSource... replicas) {
+        DataSource primary = database("primary");
+        ReplicaPool replicaPool = new ReplicaPool(List.of(replicas), primary, strategy, Duration.ofMinutes(1), meterRegistry);
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replicaPool);
+    }
+
+    private String target(boolean readOnly) throws SQLException {
+        try (Connection connection = routingDataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            return name(connection);
+        }
+    }
+
+    private static String name(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM target")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private HikariDataSource database(String name) {
+        HikariDataSource dataSource = pool(name, "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE target (name VARCHAR(32))");
+            statement.execute("INSERT INTO target VALUES ('" + name + "')");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return dataSource;
+    }
+
+    private HikariDataSource unreachable(String name) {
+        HikariDataSource dataSource = pool(name, "jdbc:h2:mem:" + name + ";IFEXISTS=TRUE");
+        dataSource.setConnectionTimeout(250);
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    private HikariDataSource pool(String name, String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("sa");
+        pools.add(dataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,120 @@
+package com.subscriptionservice.idempotency;
+
+import com.subscriptionservice.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DatabaseIdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DatabaseIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DatabaseIdempotencyStore(repository, Duration.ofHours(1), Duration.ofMinutes(1), Duration.ofMillis(10),
+                transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void claim_ShouldLetOnlyFirstCallerHoldKey() {
+        assertTrue(store.claim("key-1", "fingerprint").isEmpty());
+
+        Optional<IdempotencyEntry> duplicate = store.claim("key-1", "fingerprint");
+        assertEquals(Optional.of(new IdempotencyEntry("fingerprint", null)), duplicate);
+    }
+
+    @Test
+    void complete_ShouldBeReturnedToDuplicates() throws InterruptedException {
+        store.claim("key-1", "fingerprint");
+        IdempotentResponse response = new IdempotentResponse(201, "42");
+
+        store.complete("key-1", response);
+
+        assertEquals(response, store.claim("key-1", "fingerprint").orElseThrow().response());
+        assertEquals(Optional.of(response), store.await("key-1", Duration.ZERO));
+    }
+
+    @Test
+    void runClaimed_ShouldRecordResponseWithActionChanges() throws InterruptedException {
+        store.claim("key-1", "fingerprint");
+
+        int inserted = store.runClaimed("key-1",
+                () -> repository.insert("written-by-action", "fingerprint", OffsetDateTime.now().plusHours(1)),
+                result -> new IdempotentResponse(201, String.valueOf(result)));
+
+        assertEquals(1, inserted);
+        assertTrue(repository.existsById("written-by-action"));
+        assertEquals(Optional.of(new IdempotentResponse(201, "1")), store.await("key-1", Duration.ZERO));
+    }
+
+    @Test
+    void runClaimed_WhenResponseCannotBeRecorded_ShouldRollBackActionChanges() {
+        store.claim("key-1", "fingerprint");
+
+        assertThrows(IllegalStateException.class, () -> store.runClaimed("key-1",
+                () -> repository.insert("written-by-action", "fingerprint", OffsetDateTime.now().plusHours(1)),
+                result -> {
+                    throw new IllegalStateException("Cannot record idempotent response");
+                }));
+
+        assertFalse(repository.existsById("written-by-action"));
+        assertEquals(Optional.of(new IdempotencyEntry("fingerprint", null)), store.claim("key-1", "fingerprint"));
+    }
+
+    @Test
+    void await_WhileInProgress_ShouldTimeOut() throws InterruptedException {
+        store.claim("key-1", "fingerprint");
+
+        assertEquals(Optional.empty(), store.await("key-1", Duration.ofMillis(30)));
+    }
+
+    @Test
+    void release_ShouldFreeKey() {
+        store.claim("key-1", "fingerprint");
+
+        store.release("key-1");
+
+        assertTrue(store.claim("key-1", "other").isEmpty());
+    }
+
+    @Test
+    void claim_WithExpiredEntry_ShouldFreeKey() {
+        repository.insert("key-1", "fingerprint", OffsetDateTime.now().minusSeconds(1));
+
+        assertTrue(store.claim("key-1", "other").isEmpty());
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteOnlyExpiredEntries() {
+        repository.insert("expired", "fingerprint", OffsetDateTime.now().minusSeconds(1));
+        store.claim("active", "fingerprint");
+
+        store.purgeExpired();
+
+        assertEquals(1, repository.count());
+        assertTrue(repository.existsById("active"));
+    }
+}
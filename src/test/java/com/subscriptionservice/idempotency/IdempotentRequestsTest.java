@@ -0,0 +1,162 @@
+package com.subscriptionservice.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.subscriptionservice.config.IdempotencyProperties;
+import com.subscriptionservice.exception.IdempotencyKeyInUseException;
+import com.subscriptionservice.exception.IdempotencyKeyMismatchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotentRequestsTest {
+    private static final String SCOPE = "POST /api/subscriptions";
+
+    private IdempotencyProperties properties;
+    private IdempotentRequests idempotentRequests;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        idempotentRequests = new IdempotentRequests(
+                new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100), properties, new ObjectMapper());
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void execute_WithoutKey_ShouldRunEveryTime() {
+        execute(null, Map.of("plan", "monthly"), created());
+        execute(null, Map.of("plan", "monthly"), created());
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_WithRepeatedKey_ShouldReplayOriginalResponse() {
+        ResponseEntity<Long> first = execute("key-1", Map.of("plan", "monthly"), created());
+        ResponseEntity<Long> retry = execute("key-1", Map.of("plan", "monthly"), created());
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        assertNull(first.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_WithRepeatedKeyAndDifferentRequest_ShouldThrowMismatch() {
+        execute("key-1", Map.of("plan", "monthly"), created());
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> execute("key-1", Map.of("plan", "yearly"), created()));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_WithSameKeyInAnotherScope_ShouldRunAgain() {
+        execute("key-1", Map.of("plan", "monthly"), created());
+        idempotentRequests.execute("key-1", "POST /users", Map.of("plan", "monthly"), Long.class, created());
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_WhenActionFails_ShouldLetRetryRunAgain() {
+        assertThrows(IllegalStateException.class, () -> execute("key-1", Map.of("plan", "monthly"), () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        ResponseEntity<Long> retry = execute("key-1", Map.of("plan", "monthly"), created());
+
+        assertEquals(2, executions.get());
+        assertNull(retry.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_WithBlankKey_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> execute(" ", Map.of("plan", "monthly"), created()));
+    }
+
+    @Test
+    void execute_WithConcurrentDuplicates_ShouldRunActionOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<ResponseEntity<Long>> slowCreate = () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ResponseEntity<>(42L, HttpStatus.CREATED);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<ResponseEntity<Long>> original = executor.submit(() -> execute("key-1", Map.of("plan", "monthly"), slowCreate));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            List<Future<ResponseEntity<Long>>> duplicates = List.of(
+                    executor.submit(() -> execute("key-1", Map.of("plan", "monthly"), slowCreate)),
+                    executor.submit(() -> execute("key-1", Map.of("plan", "monthly"), slowCreate)));
+            release.countDown();
+
+            assertEquals(42L, original.get(5, TimeUnit.SECONDS).getBody());
+            for (Future<ResponseEntity<Long>> duplicate : duplicates) {
+                assertEquals(42L, duplicate.get(5, TimeUnit.SECONDS).getBody());
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WhenOriginalOutlastsWaitTimeout_ShouldThrowInUse() throws Exception {
+        properties.setWaitTimeout(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> execute("key-1", Map.of("plan", "monthly"), () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new ResponseEntity<>(42L, HttpStatus.CREATED);
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(IdempotencyKeyInUseException.class,
+                    () -> execute("key-1", Map.of("plan", "monthly"), created()));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<Long> execute(String key, Object request, Supplier<ResponseEntity<Long>> action) {
+        return idempotentRequests.execute(key, SCOPE, request, Long.class, action);
+    }
+
+    private Supplier<ResponseEntity<Long>> created() {
+        return () -> new ResponseEntity<>((long) executions.incrementAndGet(), HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,71 @@
+package com.subscriptionservice.logging;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLogListenerTest {
+
+    private static final String QUERY = "select * from subscriptions where user_id = ? and service_name = ?";
+
+    @Test
+    void afterQuery_ShouldLogSlowStatementWithBindValues(CapturedOutput output) throws Exception {
+        SlowQueryLogListener listener = new SlowQueryLogListener(Duration.ofMillis(100), 1.0);
+
+        listener.afterQuery(execution(150), List.of(query(42L, "Netflix")));
+
+        assertTrue(output.getOut().contains("Slow query: 150 ms"));
+        assertTrue(output.getOut().contains(QUERY + " [42, Netflix]"));
+    }
+
+    @Test
+    void afterQuery_ShouldIgnoreStatementBelowThreshold(CapturedOutput output) throws Exception {
+        SlowQueryLogListener listener = new SlowQueryLogListener(Duration.ofMillis(100), 1.0);
+
+        listener.afterQuery(execution(99), List.of(query(42L, "Netflix")));
+
+        assertFalse(output.getOut().contains("Slow query"));
+    }
+
+    @Test
+    void afterQuery_ShouldSkipSlowStatementNotPickedBySample(CapturedOutput output) throws Exception {
+        SlowQueryLogListener listener = new SlowQueryLogListener(Duration.ofMillis(100), 0.0);
+
+        listener.afterQuery(execution(1000), List.of(query(42L, "Netflix")));
+
+        assertFalse(output.getOut().contains("Slow query"));
+    }
+
+    @Test
+    void constructor_ShouldRejectSampleRateOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowQueryLogListener(Duration.ofMillis(100), 1.5));
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+
+    private static QueryInfo query(long userId, String serviceName) throws Exception {
+        QueryInfo queryInfo = new QueryInfo(QUERY);
+        queryInfo.getParametersList().add(List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class),
+                        new Object[]{1, userId}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{2, serviceName})));
+        return queryInfo;
+    }
+}
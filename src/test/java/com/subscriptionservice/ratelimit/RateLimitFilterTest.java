@@ -0,0 +1,119 @@
+package com.subscriptionservice.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.subscriptionservice.config.RateLimitProperties;
+import com.subscriptionservice.datasource.ConnectionAcquireMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionAcquireMonitor acquireMonitor = new ConnectionAcquireMonitor();
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Route list = new RateLimitProperties.Route();
+        list.setMethod("GET");
+        list.setPattern("/api/subscriptions");
+        list.setCost(5);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTokensPerSecond(0.01);
+        properties.setBurst(10);
+        properties.setRoutes(List.of(list));
+        properties.setApiKeys(Set.of("key-1"));
+        properties.getLoadShedding().setMaxAcquireTime(Duration.ofMillis(50));
+        properties.getLoadShedding().setCostMultiplier(4);
+
+        filter = new RateLimitFilter(properties, acquireMonitor,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+    }
+
+    @Test
+    void doFilter_ShouldChargeRouteCostAndRejectWithRetryAfter() throws Exception {
+        assertEquals(200, perform(request("GET", "/api/subscriptions", null)).getStatus());
+        assertEquals(200, perform(request("GET", "/api/subscriptions", null)).getStatus());
+
+        MockHttpServletResponse rejected = perform(request("GET", "/api/subscriptions/1", null));
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("100", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Rate limit exceeded"));
+        assertEquals(1, meterRegistry.counter("http.server.requests.throttled", "reason", "rate-limit").count());
+    }
+
+    @Test
+    void doFilter_ShouldLimitApiKeysIndependentlyOfAddress() throws Exception {
+        assertEquals(200, perform(request("POST", "/api/subscriptions/bulk", null)).getStatus());
+        for (int i = 0; i < 10; i++) {
+            perform(request("GET", "/api/subscriptions/1", null));
+        }
+
+        assertEquals(429, perform(request("GET", "/api/subscriptions/1", null)).getStatus());
+        assertEquals(200, perform(request("GET", "/api/subscriptions/1", "key-1")).getStatus());
+    }
+
+    @Test
+    void doFilter_WithUnknownApiKey_ShouldLimitByAddress() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            perform(request("GET", "/api/subscriptions/1", null));
+        }
+
+        assertEquals(429, perform(request("GET", "/api/subscriptions/1", "made-up-key")).getStatus());
+    }
+
+    @Test
+    void doFilter_WhenPoolIsOverloaded_ShouldMultiplyCosts() throws Exception {
+        acquireMonitor.trackerFactory(null, Duration.ofSeconds(1))
+                .create("primary", null)
+                .recordConnectionTimeout();
+
+        assertEquals(200, perform(request("GET", "/api/subscriptions/1", null)).getStatus());
+        assertEquals(200, perform(request("GET", "/api/subscriptions/1", null)).getStatus());
+        MockHttpServletResponse rejected = perform(request("GET", "/api/subscriptions/1", null));
+
+        assertEquals(429, rejected.getStatus());
+        assertTrue(rejected.getContentAsString().contains("overloaded"));
+        assertEquals(1, meterRegistry.counter("http.server.requests.throttled", "reason", "load-shedding").count());
+    }
+
+    @Test
+    void doFilter_WhenShedCostExceedsBurst_ShouldChargeWholeBucket() throws Exception {
+        acquireMonitor.trackerFactory(null, Duration.ofSeconds(1))
+                .create("primary", null)
+                .recordConnectionTimeout();
+
+        assertEquals(200, perform(request("GET", "/api/subscriptions", null)).getStatus());
+        MockHttpServletResponse rejected = perform(request("GET", "/api/subscriptions", null));
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1000", rejected.getHeader("Retry-After"));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,33 @@
+package com.subscriptionservice.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketRateLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, 100, clock::get);
+
+    @Test
+    void tryAcquire_ShouldAllowBurstAndThenRefillAtRate() {
+        assertEquals(Duration.ZERO, limiter.tryAcquire("client", 1));
+        assertEquals(Duration.ZERO, limiter.tryAcquire("client", 2));
+        assertEquals(Duration.ofMillis(100), limiter.tryAcquire("client", 1));
+
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+
+        assertEquals(Duration.ZERO, limiter.tryAcquire("client", 1));
+        assertEquals(Duration.ofMillis(100), limiter.tryAcquire("client", 1));
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketPerClient() {
+        assertEquals(Duration.ZERO, limiter.tryAcquire("heavy", 3));
+        assertEquals(Duration.ofMillis(200), limiter.tryAcquire("heavy", 2));
+
+        assertEquals(Duration.ZERO, limiter.tryAcquire("light", 1));
+    }
+}
@@ -0,0 +1,65 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.dto.ActiveSubscriptionsDto;
+import com.subscriptionservice.dto.RevenueDto;
+import com.subscriptionservice.dto.UserSpendDto;
+import com.subscriptionservice.model.SubscriptionStatus;
+import com.subscriptionservice.repository.SubscriptionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    @Test
+    void getMonthlyRevenue_ShouldAggregateActiveSubscriptions() {
+        List<RevenueDto> revenue = List.of(new RevenueDto("Netflix", "monthly", 2L, new BigDecimal("19.98")));
+        when(subscriptionRepository.sumRevenueByServiceAndPlan(SubscriptionStatus.ACTIVE)).thenReturn(revenue);
+
+        assertEquals(revenue, analyticsService.getMonthlyRevenue());
+    }
+
+    @Test
+    void getSpendPerUser_ShouldReturnPageAfterCursor() {
+        List<UserSpendDto> spend = List.of(new UserSpendDto(11L, 1L, new BigDecimal("9.99")));
+        when(subscriptionRepository.sumSpendByUser(SubscriptionStatus.ACTIVE, 10L, Limit.of(50))).thenReturn(spend);
+
+        assertEquals(spend, analyticsService.getSpendPerUser(10L, 50));
+    }
+
+    @Test
+    void getSpendPerUser_WithLimitAboveMax_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            analyticsService.getSpendPerUser(0L, AnalyticsService.MAX_PAGE_SIZE + 1)
+        );
+        verifyNoInteractions(subscriptionRepository);
+    }
+
+    @Test
+    void getActiveSubscriptions_ShouldCountAtTimestamp() {
+        OffsetDateTime at = OffsetDateTime.now();
+        when(subscriptionRepository.countActiveAt(at)).thenReturn(7L);
+
+        ActiveSubscriptionsDto result = analyticsService.getActiveSubscriptions(at);
+
+        assertEquals(at, result.getAt());
+        assertEquals(7L, result.getActiveSubscriptions());
+    }
+}
@@ -0,0 +1,87 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.changes.ChangeEventBroker;
+import com.subscriptionservice.config.ChangeFeedProperties;
+import com.subscriptionservice.dto.ChangeEventDto;
+import com.subscriptionservice.dto.ChangeFeedDto;
+import com.subscriptionservice.exception.ChangeFeedExpiredException;
+import com.subscriptionservice.model.ChangeEntityType;
+import com.subscriptionservice.model.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    private ChangeEventBroker broker;
+
+    private ChangeFeedService changeFeedService;
+    private Runnable notification;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new ChangeFeedService(broker, new ChangeFeedProperties());
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(broker).subscribe(listener.capture());
+        notification = listener.getValue();
+        when(broker.read(anyLong(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void notification_ShouldReadOnceForAllWaitingPolls() {
+        DeferredResult<ChangeFeedDto> fromThree = changeFeedService.poll(3L, 10);
+        DeferredResult<ChangeFeedDto> fromFive = changeFeedService.poll(5L, 1);
+        DeferredResult<ChangeFeedDto> fromFour = changeFeedService.poll(4L, 1);
+        when(broker.read(3, ChangeFeedService.MAX_PAGE_SIZE)).thenReturn(events(4, 5, 6));
+
+        notification.run();
+
+        verify(broker, times(1)).read(anyLong(), eq(ChangeFeedService.MAX_PAGE_SIZE));
+        assertEquals(List.of(4L, 5L, 6L), offsets(fromThree));
+        assertEquals(List.of(6L), offsets(fromFive));
+        assertEquals(List.of(5L), offsets(fromFour));
+        assertEquals(5L, ((ChangeFeedDto) fromFour.getResult()).getNextOffset());
+    }
+
+    @Test
+    void notification_WithLowestOffsetExpired_ShouldStillServeOtherPolls() {
+        DeferredResult<ChangeFeedDto> expired = changeFeedService.poll(1L, 10);
+        DeferredResult<ChangeFeedDto> current = changeFeedService.poll(5L, 10);
+        ChangeFeedExpiredException exception = new ChangeFeedExpiredException("expired");
+        when(broker.read(1, ChangeFeedService.MAX_PAGE_SIZE)).thenThrow(exception);
+        when(broker.read(1, 10)).thenThrow(exception);
+        when(broker.read(5, 10)).thenReturn(events(6));
+
+        notification.run();
+
+        assertSame(exception, expired.getResult());
+        assertEquals(List.of(6L), offsets(current));
+    }
+
+    private static List<Long> offsets(DeferredResult<ChangeFeedDto> result) {
+        return ((ChangeFeedDto) result.getResult()).getChanges().stream().map(ChangeEventDto::getOffset).toList();
+    }
+
+    private static List<ChangeEventDto> events(long... offsets) {
+        return LongStream.of(offsets)
+                .mapToObj(offset -> new ChangeEventDto(offset, offset, ChangeEntityType.SUBSCRIPTION, offset,
+                        ChangeType.UPDATED, OffsetDateTime.now()))
+                .toList();
+    }
+}
@@ -0,0 +1,175 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.cache.CacheInvalidation;
+import com.subscriptionservice.cache.CacheInvalidationBus;
+import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.model.Subscription;
+import com.subscriptionservice.model.User;
+import com.subscriptionservice.repository.SubscriptionRepository;
+import com.subscriptionservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a surrounding test transaction so that every service call commits and the
+ * second-level cache sees the same sequence of puts and invalidations as in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Long userId;
+    private Long subscriptionId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User user = new User();
+        user.setFirstName("cached");
+        user.setLastName("cached");
+        user.setEmail("cached@example.com");
+        user.setPhone("+79282582222");
+        userId = userRepository.save(user).getId();
+        subscriptionId = subscriptionService.createSubscription(subscriptionDto("Cached Service", "monthly"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (userRepository.existsById(userId)) {
+            userService.deleteUser(userId);
+        }
+    }
+
+    @Test
+    void getSubscriptionById_ShouldBeServedFromSecondLevelCache() {
+        subscriptionService.getSubscriptionById(subscriptionId);
+        statistics.clear();
+
+        SubscriptionDto result = subscriptionService.getSubscriptionById(subscriptionId);
+
+        assertEquals(userId, result.getUserId());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Subscription.CACHE_REGION).getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", Subscription.CACHE_REGION).tag("result", "hit")
+                .functionCounter().count() > 0);
+    }
+
+    @Test
+    void updateSubscription_ShouldReplaceCachedEntry() {
+        subscriptionService.getSubscriptionById(subscriptionId);
+
+        subscriptionService.updateSubscription(subscriptionId, subscriptionDto("Cached Service", "yearly"), null);
+
+        assertEquals("yearly", subscriptionService.getSubscriptionById(subscriptionId).getPlan());
+    }
+
+    @Test
+    void deleteSubscription_ShouldEvictCachedEntry() {
+        subscriptionService.getSubscriptionById(subscriptionId);
+
+        subscriptionService.deleteSubscription(subscriptionId);
+
+        assertThrows(EntityNotFoundException.class, () -> subscriptionService.getSubscriptionById(subscriptionId));
+    }
+
+    @Test
+    void deleteUser_ShouldEvictSubscriptionsRemovedByCascade() {
+        subscriptionService.getSubscriptionById(subscriptionId);
+
+        userService.deleteUser(userId);
+
+        assertThrows(EntityNotFoundException.class, () -> subscriptionService.getSubscriptionById(subscriptionId));
+    }
+
+    @Test
+    void getSubscriptionsByUserId_ShouldUseQueryCacheUntilSubscriptionsChange() {
+        subscriptionService.getSubscriptionsByUserId(userId);
+        statistics.clear();
+
+        assertEquals(1, subscriptionService.getSubscriptionsByUserId(userId).size());
+        assertEquals(1, statistics.getQueryRegionStatistics(SubscriptionRepository.BY_USER_CACHE_REGION).getHitCount());
+
+        subscriptionService.createSubscription(subscriptionDto("Other Cached Service", "monthly"));
+
+        assertEquals(2, subscriptionService.getSubscriptionsByUserId(userId).size());
+    }
+
+    @Test
+    void updateSubscription_ShouldBroadcastInvalidationAfterCommit() {
+        List<CacheInvalidation> published = new CopyOnWriteArrayList<>();
+        cacheInvalidationBus.subscribe(published::add);
+
+        subscriptionService.updateSubscription(subscriptionId, subscriptionDto("Cached Service", "yearly"), null);
+        userService.deleteUser(userId);
+
+        assertTrue(published.stream().anyMatch(invalidation ->
+                invalidation.cacheName().equals("hibernate:" + Subscription.CACHE_REGION)
+                        && subscriptionId.equals(invalidation.key())));
+        assertTrue(published.stream().anyMatch(invalidation ->
+                invalidation.cacheName().equals("hibernate:" + User.CACHE_REGION) && invalidation.key() == null));
+    }
+
+    @Test
+    void invalidationFromAnotherNode_ShouldEvictCachedEntryAndQueryResults() {
+        subscriptionService.getSubscriptionById(subscriptionId);
+        subscriptionService.getSubscriptionsByUserId(userId);
+        jdbcTemplate.update("UPDATE subscriptions SET plan = 'yearly' WHERE id = ?", subscriptionId);
+
+        cacheInvalidationBus.publish(new CacheInvalidation("other-node", "hibernate:" + Subscription.CACHE_REGION, subscriptionId));
+
+        assertEquals("yearly", subscriptionService.getSubscriptionById(subscriptionId).getPlan());
+        assertEquals("yearly", subscriptionService.getSubscriptionsByUserId(userId).get(0).getPlan());
+    }
+
+    private SubscriptionDto subscriptionDto(String serviceName, String plan) {
+        SubscriptionDto dto = new SubscriptionDto();
+        dto.setServiceName(serviceName);
+        dto.setPlan(plan);
+        dto.setPrice(new BigDecimal("9.99"));
+        dto.setStartDate(OffsetDateTime.now());
+        dto.setEndDate(OffsetDateTime.now().plusMonths(1));
+        dto.setUserId(userId);
+        return dto;
+    }
+}
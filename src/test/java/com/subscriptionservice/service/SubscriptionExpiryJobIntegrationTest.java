@@ -0,0 +1,124 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.model.JobCheckpoint;
+import com.subscriptionservice.model.Subscription;
+import com.subscriptionservice.model.SubscriptionStatus;
+import com.subscriptionservice.model.User;
+import com.subscriptionservice.repository.JobCheckpointRepository;
+import com.subscriptionservice.repository.SubscriptionRepository;
+import com.subscriptionservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SubscriptionExpiryJobIntegrationTest {
+    private static final int DUE = 1_234;
+    private static final int NOT_DUE = 3;
+
+    @Autowired
+    private SubscriptionExpiryJob subscriptionExpiryJob;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private List<Subscription> subscriptions;
+    private JobCheckpoint initialCheckpoint;
+
+    @BeforeEach
+    void setUp() {
+        initialCheckpoint = checkpointRepository.findById(SubscriptionExpiryJob.JOB_NAME).orElseThrow();
+
+        user = new User();
+        user.setFirstName("expiry");
+        user.setLastName("expiry");
+        user.setEmail("expiry@example.com");
+        user.setPhone("+79282580000");
+        user = userRepository.save(user);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        subscriptions = new ArrayList<>();
+        for (int i = 0; i < DUE + NOT_DUE; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setServiceName("Expiry Service");
+            subscription.setPlan("monthly");
+            subscription.setPrice(new BigDecimal("9.99"));
+            subscription.setStartDate(now.minusMonths(1));
+            subscription.setEndDate(i < DUE ? now.plusMinutes(1 + i % 60) : now.plusDays(2));
+            subscription.setUser(user);
+            subscriptions.add(subscription);
+        }
+        subscriptions = subscriptionRepository.saveAll(subscriptions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriptionRepository.deleteAllInBatch(subscriptions);
+        userRepository.delete(user);
+        checkpointRepository.save(initialCheckpoint);
+    }
+
+    @Test
+    void expireUntil_ShouldExpireDueSubscriptionsOnceAndAdvanceCheckpoint() {
+        OffsetDateTime cutoff = OffsetDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        double expiredBefore = meterRegistry.get("subscriptions.expiry.expired").counter().count();
+
+        assertEquals(DUE, subscriptionExpiryJob.expireUntil(cutoff));
+        assertEquals(0, subscriptionExpiryJob.expireUntil(cutoff));
+
+        Map<SubscriptionStatus, Long> statuses = subscriptionRepository.findAllById(
+                        subscriptions.stream().map(Subscription::getId).toList()).stream()
+                .collect(Collectors.groupingBy(Subscription::getStatus, Collectors.counting()));
+        assertEquals(DUE, statuses.get(SubscriptionStatus.EXPIRED));
+        assertEquals(NOT_DUE, statuses.get(SubscriptionStatus.ACTIVE));
+
+        assertTrue(cutoff.isEqual(checkpointRepository.findById(SubscriptionExpiryJob.JOB_NAME)
+                .orElseThrow().getProcessedUntil()));
+        assertEquals(DUE, meterRegistry.get("subscriptions.expiry.expired").counter().count() - expiredBefore);
+        assertEquals(0, meterRegistry.get("subscriptions.expiry.lag").timeGauge().value(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void expireUntil_ShouldExpireSubscriptionsEndingBeforeCheckpoint() {
+        OffsetDateTime cutoff = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Long missedId = subscriptions.get(0).getId();
+        jdbcTemplate.update("UPDATE subscriptions SET end_date = ? WHERE id = ?", cutoff.minusDays(3), missedId);
+        checkpointRepository.advance(SubscriptionExpiryJob.JOB_NAME, cutoff.minusDays(1));
+
+        assertEquals(1, subscriptionExpiryJob.expireUntil(cutoff));
+
+        assertEquals(SubscriptionStatus.EXPIRED,
+                subscriptionRepository.findById(missedId).orElseThrow().getStatus());
+        assertEquals(0, meterRegistry.get("subscriptions.expiry.lag").timeGauge().value(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,75 @@
+package com.subscriptionservice.service;
+
+import com.subscriptionservice.dto.TopSubscriptionDto;
+import com.subscriptionservice.model.ServiceSubscriptionCount;
+import com.subscriptionservice.repository.ServiceSubscriptionCountRepository;
+import com.subscriptionservice.repository.SubscriptionRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionLeaderboardTest {
+
+    @Mock
+    private ServiceSubscriptionCountRepository countRepository;
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @InjectMocks
+    private SubscriptionLeaderboard subscriptionLeaderboard;
+
+    @Test
+    void getTop_ShouldRankByCountThenName() {
+        when(countRepository.findAll()).thenReturn(List.of(
+                new ServiceSubscriptionCount("Music", 3, 1),
+                new ServiceSubscriptionCount("Video", 5, 1),
+                new ServiceSubscriptionCount("Books", 3, 1)));
+        subscriptionLeaderboard.refresh();
+
+        List<TopSubscriptionDto> top = subscriptionLeaderboard.getTop(2);
+
+        assertEquals(List.of(new TopSubscriptionDto("Video", 5L), new TopSubscriptionDto("Books", 3L)), top);
+    }
+
+    @Test
+    void apply_ShouldReorderAndDropEmptyServices() {
+        subscriptionLeaderboard.apply(new ServiceSubscriptionCount("Music", 2, 1));
+        subscriptionLeaderboard.apply(new ServiceSubscriptionCount("Video", 1, 1));
+        subscriptionLeaderboard.apply(new ServiceSubscriptionCount("Video", 3, 2));
+        subscriptionLeaderboard.apply(new ServiceSubscriptionCount("Music", 0, 2));
+
+        assertEquals(List.of(new TopSubscriptionDto("Video", 3L)), subscriptionLeaderboard.getTop(10));
+    }
+
+    @Test
+    void apply_WithOlderRevision_ShouldKeepNewerCount() {
+        subscriptionLeaderboard.apply(new ServiceSubscriptionCount("Music", 4, 3));
+        when(countRepository.findAll()).thenReturn(List.of(new ServiceSubscriptionCount("Music", 3, 2)));
+
+        subscriptionLeaderboard.refresh();
+        subscriptionLeaderboard.apply(new ServiceSubscriptionCount("Music", 4, 3));
+
+        assertEquals(List.of(new TopSubscriptionDto("Music", 4L)), subscriptionLeaderboard.getTop(10));
+    }
+
+    @Test
+    void initialize_WithEmptySummary_ShouldRebuildFromSubscriptions() {
+        when(countRepository.count()).thenReturn(0L);
+        when(subscriptionRepository.findTopSubscriptions())
+                .thenReturn(List.of(new TopSubscriptionDto("Music", 4L)));
+
+        subscriptionLeaderboard.initialize();
+
+        verify(countRepository).insertCountIfAbsent("Music", 4L);
+    }
+}
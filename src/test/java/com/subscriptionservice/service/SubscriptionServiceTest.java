@@ -1,27 +1,42 @@
 package com.subscriptionservice.service;
 
+import com.subscriptionservice.dto.BulkSubscriptionResultDto;
 import com.subscriptionservice.dto.SubscriptionDto;
+import com.subscriptionservice.dto.TopSubscriptionDto;
+import com.subscriptionservice.exception.PreconditionFailedException;
 import com.subscriptionservice.exception.ResourceNotFoundException;
 import com.subscriptionservice.mapper.SubscriptionMapper;
+import com.subscriptionservice.model.ChangeEntityType;
+import com.subscriptionservice.model.ChangeType;
 import com.subscriptionservice.model.Subscription;
+import com.subscriptionservice.model.SubscriptionStatus;
 import com.subscriptionservice.model.User;
 import com.subscriptionservice.repository.SubscriptionRepository;
 import com.subscriptionservice.repository.UserRepository;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,9 +51,24 @@ class SubscriptionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserService userService;
+
     @Mock
     private SubscriptionMapper subscriptionMapper;
 
+    @Mock
+    private SubscriptionLeaderboard subscriptionLeaderboard;
+
+    @Mock
+    private ChangeOutbox changeOutbox;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private SubscriptionService subscriptionService;
 
@@ -58,13 +88,14 @@ class SubscriptionServiceTest {
         testSubscription = new Subscription();
         testSubscription.setId(1L);
         testSubscription.setServiceName("Test Service");
-        testSubscription.setPrice(9.99);
+        testSubscription.setPrice(new BigDecimal("9.99"));
         testSubscription.setStartDate(OffsetDateTime.now());
         testSubscription.setEndDate(OffsetDateTime.now().plusMonths(1));
         testSubscription.setUser(testUser);
 
         testSubscriptionDto = new SubscriptionDto();
         testSubscriptionDto.setServiceName("Test Service");
+        testSubscriptionDto.setPlan("testplan");
         testSubscriptionDto.setPrice(new BigDecimal("9.99"));
         testSubscriptionDto.setStartDate(OffsetDateTime.now());
         testSubscriptionDto.setEndDate(OffsetDateTime.now().plusMonths(1));
@@ -73,7 +104,7 @@ class SubscriptionServiceTest {
 
     @Test
     void createSubscription_ShouldReturnSubscriptionId() {
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUser);
         when(subscriptionMapper.toEntity(testSubscriptionDto, testUser)).thenReturn(testSubscription);
         when(subscriptionRepository.save(any(Subscription.class))).thenReturn(testSubscription);
 
@@ -82,17 +113,81 @@ class SubscriptionServiceTest {
         assertNotNull(subscriptionId);
         assertEquals(testSubscription.getId(), subscriptionId);
         verify(subscriptionRepository).save(any(Subscription.class));
+        verify(subscriptionLeaderboard).adjust("Test Service", 1);
+        verify(changeOutbox).record(ChangeEntityType.SUBSCRIPTION, subscriptionId, ChangeType.CREATED);
     }
 
     @Test
     void createSubscription_WhenUserNotFound_ShouldThrowException() {
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.empty());
+        when(userService.getUser(testUser.getId())).thenThrow(new EntityNotFoundException("User not found"));
 
         assertThrows(EntityNotFoundException.class, () -> 
             subscriptionService.createSubscription(testSubscriptionDto)
         );
     }
 
+    @Test
+    void getSubscriptionsPage_ShouldReturnSubscriptionsAfterCursor() {
+        when(subscriptionRepository.findDtosByIdGreaterThan(0L, Limit.of(10)))
+                .thenReturn(List.of(testSubscriptionDto));
+
+        List<SubscriptionDto> result = subscriptionService.getSubscriptionsPage(0L, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(testSubscriptionDto, result.get(0));
+    }
+
+    @Test
+    void getSubscriptionsPage_WithLimitAboveMax_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            subscriptionService.getSubscriptionsPage(0L, SubscriptionService.MAX_PAGE_SIZE + 1)
+        );
+        verifyNoInteractions(subscriptionRepository);
+    }
+
+    @Test
+    void streamSubscriptions_ShouldEmitEachSubscription() {
+        when(subscriptionRepository.streamDtosByIdGreaterThan(0L)).thenReturn(Stream.of(testSubscriptionDto));
+
+        List<SubscriptionDto> emitted = new ArrayList<>();
+        subscriptionService.streamSubscriptions(0L, emitted::add);
+
+        assertEquals(List.of(testSubscriptionDto), emitted);
+        verifyNoInteractions(subscriptionMapper);
+    }
+
+    @Test
+    void createSubscriptions_ShouldReportResultPerItem() {
+        SubscriptionDto invalid = new SubscriptionDto();
+        SubscriptionDto unknownUser = new SubscriptionDto();
+        unknownUser.setServiceName("Other Service");
+        unknownUser.setPlan("testplan");
+        unknownUser.setPrice(BigDecimal.ONE);
+        unknownUser.setStartDate(OffsetDateTime.now());
+        unknownUser.setEndDate(OffsetDateTime.now().plusMonths(1));
+        unknownUser.setUserId(2L);
+        when(userRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(Set.of(1L));
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(subscriptionMapper.toEntity(testSubscriptionDto, testUser)).thenReturn(testSubscription);
+
+        List<BulkSubscriptionResultDto> results = subscriptionService.createSubscriptions(
+                List.of(testSubscriptionDto, invalid, unknownUser));
+
+        assertEquals(BulkSubscriptionResultDto.created(0, testSubscription.getId()), results.get(0));
+        assertEquals(BulkSubscriptionResultDto.Status.FAILED, results.get(1).getStatus());
+        assertEquals(BulkSubscriptionResultDto.failed(2, "User not found with id: 2"), results.get(2));
+        verify(subscriptionRepository).saveAll(List.of(testSubscription));
+        verify(subscriptionLeaderboard).adjust("Test Service", 1L);
+    }
+
+    @Test
+    void createSubscriptions_WithTooManyItems_ShouldThrowException() {
+        List<SubscriptionDto> dtos = Collections.nCopies(SubscriptionService.MAX_BULK_SIZE + 1, testSubscriptionDto);
+
+        assertThrows(IllegalArgumentException.class, () -> subscriptionService.createSubscriptions(dtos));
+        verifyNoInteractions(subscriptionRepository);
+    }
+
     @Test
     void getSubscriptionById_ShouldReturnSubscription() {
         when(subscriptionRepository.findById(testSubscription.getId()))
@@ -119,32 +214,63 @@ class SubscriptionServiceTest {
     void updateSubscription_ShouldReturnUpdatedSubscription() {
         when(subscriptionRepository.findById(testSubscription.getId()))
                 .thenReturn(Optional.of(testSubscription));
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(subscriptionRepository.save(any(Subscription.class))).thenReturn(testSubscription);
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUser);
+        when(subscriptionRepository.saveAndFlush(any(Subscription.class))).thenReturn(testSubscription);
         when(subscriptionMapper.toDto(testSubscription)).thenReturn(testSubscriptionDto);
 
         SubscriptionDto result = subscriptionService.updateSubscription(
-                testSubscription.getId(), testSubscriptionDto);
+                testSubscription.getId(), testSubscriptionDto, null);
 
         assertNotNull(result);
         verify(subscriptionMapper).updateEntityFromDto(testSubscriptionDto, testSubscription, testUser);
+        verifyNoInteractions(subscriptionLeaderboard);
+    }
+
+    @Test
+    void updateSubscription_WithChangedServiceName_ShouldMoveLeaderboardCount() {
+        when(subscriptionRepository.findById(testSubscription.getId()))
+                .thenReturn(Optional.of(testSubscription));
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUser);
+        doAnswer(invocation -> {
+            testSubscription.setServiceName("Other Service");
+            return null;
+        }).when(subscriptionMapper).updateEntityFromDto(testSubscriptionDto, testSubscription, testUser);
+        when(subscriptionRepository.saveAndFlush(any(Subscription.class))).thenReturn(testSubscription);
+
+        subscriptionService.updateSubscription(testSubscription.getId(), testSubscriptionDto, null);
+
+        verify(subscriptionLeaderboard).adjust("Test Service", -1);
+        verify(subscriptionLeaderboard).adjust("Other Service", 1);
+    }
+
+    @Test
+    void updateSubscription_WithStaleVersion_ShouldThrowPreconditionFailed() {
+        testSubscription.setVersion(3L);
+        when(subscriptionRepository.findById(testSubscription.getId()))
+                .thenReturn(Optional.of(testSubscription));
+
+        assertThrows(PreconditionFailedException.class, () ->
+            subscriptionService.updateSubscription(testSubscription.getId(), testSubscriptionDto, 2L)
+        );
+        verify(subscriptionRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(subscriptionMapper, subscriptionLeaderboard);
     }
 
     @Test
     void deleteSubscription_ShouldDeleteSubscription() {
-        when(subscriptionRepository.existsById(testSubscription.getId())).thenReturn(true);
+        when(subscriptionRepository.findById(testSubscription.getId())).thenReturn(Optional.of(testSubscription));
 
         subscriptionService.deleteSubscription(testSubscription.getId());
 
-        verify(subscriptionRepository).deleteById(testSubscription.getId());
+        verify(subscriptionRepository).delete(testSubscription);
+        verify(subscriptionLeaderboard).adjust("Test Service", -1);
+        verify(changeOutbox).record(ChangeEntityType.SUBSCRIPTION, testSubscription.getId(), ChangeType.DELETED);
     }
 
     @Test
     void getSubscriptionsByUserId_ShouldReturnUserSubscriptions() {
-        when(userRepository.existsById(testUser.getId())).thenReturn(true);
-        when(subscriptionRepository.findByUserId(testUser.getId()))
-                .thenReturn(Arrays.asList(testSubscription));
-        when(subscriptionMapper.toDto(testSubscription)).thenReturn(testSubscriptionDto);
+        when(subscriptionRepository.findDtosByUserId(testUser.getId()))
+                .thenReturn(Arrays.asList(testSubscriptionDto));
 
         List<SubscriptionDto> result = subscriptionService.getSubscriptionsByUserId(testUser.getId());
 
@@ -156,17 +282,64 @@ class SubscriptionServiceTest {
 
     @Test
     void getTopSubscriptions_ShouldReturnTopSubscriptions() {
-        List<Object[]> topSubscriptions = Arrays.asList(
-                new Object[]{"Service1", 5L},
-                new Object[]{"Service2", 3L}
+        List<TopSubscriptionDto> topSubscriptions = Arrays.asList(
+                new TopSubscriptionDto("Service1", 5L),
+                new TopSubscriptionDto("Service2", 3L)
         );
-        when(subscriptionRepository.findTopSubscriptions()).thenReturn(topSubscriptions);
+        when(subscriptionLeaderboard.getTop(2)).thenReturn(topSubscriptions);
 
-        List<Object[]> result = subscriptionService.getTopSubscriptions();
+        List<TopSubscriptionDto> result = subscriptionService.getTopSubscriptions(2);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals("Service1", result.get(0)[0]);
-        assertEquals(5L, result.get(0)[1]);
+        assertEquals("Service1", result.get(0).getServiceName());
+        assertEquals(5L, result.get(0).getSubscriptionCount());
+    }
+
+    @Test
+    void getTopSubscriptions_WithLimitAboveMax_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            subscriptionService.getTopSubscriptions(SubscriptionService.MAX_TOP_SIZE + 1)
+        );
+    }
+
+    @Test
+    void getSubscriptionsByIds_WithTooManyIds_ShouldThrowException() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= BatchGet.MAX_SIZE; id++) {
+            ids.add(id);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> subscriptionService.getSubscriptionsByIds(ids));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void getSubscriptionsByIds_WithNullId_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            subscriptionService.getSubscriptionsByIds(Arrays.asList(1L, null))
+        );
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void expireSubscriptions_ShouldMarkClaimedSubscriptionsExpired() {
+        OffsetDateTime cutoff = OffsetDateTime.now();
+        when(subscriptionRepository.lockExpiredIds(cutoff, 500)).thenReturn(List.of(1L, 2L));
+
+        int expired = subscriptionService.expireSubscriptions(cutoff, 500);
+
+        assertEquals(2, expired);
+        verify(subscriptionRepository).updateStatus(List.of(1L, 2L), SubscriptionStatus.EXPIRED);
+        verify(changeOutbox).recordAll(ChangeEntityType.SUBSCRIPTION, List.of(1L, 2L), ChangeType.UPDATED);
+    }
+
+    @Test
+    void expireSubscriptions_WithNothingDue_ShouldNotUpdate() {
+        OffsetDateTime cutoff = OffsetDateTime.now();
+        when(subscriptionRepository.lockExpiredIds(cutoff, 500)).thenReturn(List.of());
+
+        assertEquals(0, subscriptionService.expireSubscriptions(cutoff, 500));
+        verify(subscriptionRepository, never()).updateStatus(any(), any());
     }
-} 
\ No newline at end of file
+}
@@ -1,9 +1,14 @@
 package com.subscriptionservice.service;
 
+import com.subscriptionservice.dto.TopSubscriptionDto;
 import com.subscriptionservice.dto.UserDto;
 import com.subscriptionservice.dto.UserUpdateDto;
+import com.subscriptionservice.exception.PreconditionFailedException;
 import com.subscriptionservice.mapper.UserMapper;
+import com.subscriptionservice.model.ChangeEntityType;
+import com.subscriptionservice.model.ChangeType;
 import com.subscriptionservice.model.User;
+import com.subscriptionservice.repository.SubscriptionRepository;
 import com.subscriptionservice.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +17,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +32,15 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private SubscriptionLeaderboard subscriptionLeaderboard;
+
+    @Mock
+    private ChangeOutbox changeOutbox;
+
     @Mock
     private UserMapper userMapper;
 
@@ -59,22 +75,25 @@ class UserServiceTest {
 
     @Test
     void createUser_ShouldReturnUserId() {
-        when(userRepository.existsByEmail(testUserDto.getEmail())).thenReturn(false);
         when(userMapper.toEntity(testUserDto)).thenReturn(testUser);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         Long userId = userService.createUser(testUserDto);
 
         assertNotNull(userId);
         assertEquals(testUser.getId(), userId);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verifyNoMoreInteractions(userRepository);
+        verify(changeOutbox).record(ChangeEntityType.USER, userId, ChangeType.CREATED);
     }
 
     @Test
     void createUser_WithDuplicateEmail_ShouldThrowException() {
-        when(userRepository.existsByEmail(testUserDto.getEmail())).thenReturn(true);
+        when(userMapper.toEntity(testUserDto)).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException(User.EMAIL_CONSTRAINT));
 
-        assertThrows(IllegalArgumentException.class, () -> 
+        assertThrows(DataIntegrityViolationException.class, () ->
             userService.createUser(testUserDto)
         );
     }
@@ -102,14 +121,15 @@ class UserServiceTest {
     @Test
     void updateUser_ShouldReturnUpdatedUser() {
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(userRepository.existsByEmail(testUserUpdateDto.getEmail())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
         when(userMapper.toDto(testUser)).thenReturn(testUserDto);
 
-        UserDto result = userService.updateUser(testUser.getId(), testUserUpdateDto);
+        UserDto result = userService.updateUser(testUser.getId(), testUserUpdateDto, null);
 
         assertNotNull(result);
         verify(userMapper).updateEntityFromDto(testUserUpdateDto, testUser);
+        verify(userRepository).saveAndFlush(testUser);
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -117,32 +137,52 @@ class UserServiceTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () ->
-            userService.updateUser(1L, testUserUpdateDto)
+            userService.updateUser(1L, testUserUpdateDto, null)
+        );
+    }
+
+    @Test
+    void updateUser_WithStaleVersion_ShouldThrowPreconditionFailed() {
+        testUser.setVersion(1L);
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+
+        assertThrows(PreconditionFailedException.class, () ->
+            userService.updateUser(testUser.getId(), testUserUpdateDto, 0L)
         );
+        verify(userRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(userMapper);
     }
 
     @Test
     void updateUser_WithDuplicateEmail_ShouldThrowException() {
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-        when(userRepository.existsByEmail(testUserUpdateDto.getEmail())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException(User.EMAIL_CONSTRAINT));
 
-        assertThrows(IllegalArgumentException.class, () ->
-            userService.updateUser(testUser.getId(), testUserUpdateDto)
+        assertThrows(DataIntegrityViolationException.class, () ->
+            userService.updateUser(testUser.getId(), testUserUpdateDto, null)
         );
     }
 
     @Test
     void deleteUser_ShouldDeleteUser() {
-        when(userRepository.existsById(testUser.getId())).thenReturn(true);
+        when(subscriptionRepository.countByServiceNameForUser(testUser.getId()))
+                .thenReturn(List.of(new TopSubscriptionDto("Test Service", 2L)));
+        when(subscriptionRepository.findIdsByUserId(testUser.getId())).thenReturn(List.of(10L, 11L));
+        when(userRepository.deleteUserById(testUser.getId())).thenReturn(1);
 
         userService.deleteUser(testUser.getId());
 
-        verify(userRepository).deleteById(testUser.getId());
+        verify(subscriptionRepository).deleteAllByUserId(testUser.getId());
+        verify(subscriptionLeaderboard).adjust("Test Service", -2L);
+        verify(userRepository, never()).findById(any());
+        verify(changeOutbox).recordAll(ChangeEntityType.SUBSCRIPTION, List.of(10L, 11L), ChangeType.DELETED);
+        verify(changeOutbox).record(ChangeEntityType.USER, testUser.getId(), ChangeType.DELETED);
     }
 
     @Test
     void deleteUser_WithNonExistentId_ShouldThrowException() {
-        when(userRepository.existsById(anyLong())).thenReturn(false);
+        when(userRepository.deleteUserById(anyLong())).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () ->
             userService.deleteUser(1L)